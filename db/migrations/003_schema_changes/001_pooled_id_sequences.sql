@@ -0,0 +1,39 @@
+ALTER TABLE public.items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS public.items_id_seq INCREMENT BY 50 MINVALUE 1;
+ALTER SEQUENCE public.items_id_seq INCREMENT BY 50 OWNED BY public.items.id;
+ALTER TABLE public.items ALTER COLUMN id SET DEFAULT nextval('public.items_id_seq');
+SELECT setval(
+  'public.items_id_seq',
+  GREATEST((SELECT COALESCE(MAX(id), 1) FROM public.items), 1),
+  true
+);
+
+ALTER TABLE public.item_variants ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS public.item_variants_id_seq INCREMENT BY 50 MINVALUE 1;
+ALTER SEQUENCE public.item_variants_id_seq INCREMENT BY 50 OWNED BY public.item_variants.id;
+ALTER TABLE public.item_variants ALTER COLUMN id SET DEFAULT nextval('public.item_variants_id_seq');
+SELECT setval(
+  'public.item_variants_id_seq',
+  GREATEST((SELECT COALESCE(MAX(id), 1) FROM public.item_variants), 1),
+  true
+);
+
+ALTER TABLE public.sales ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS public.sales_id_seq INCREMENT BY 50 MINVALUE 1;
+ALTER SEQUENCE public.sales_id_seq INCREMENT BY 50 OWNED BY public.sales.id;
+ALTER TABLE public.sales ALTER COLUMN id SET DEFAULT nextval('public.sales_id_seq');
+SELECT setval(
+  'public.sales_id_seq',
+  GREATEST((SELECT COALESCE(MAX(id), 1) FROM public.sales), 1),
+  true
+);
+
+ALTER TABLE public.sale_lines ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS public.sale_lines_id_seq INCREMENT BY 50 MINVALUE 1;
+ALTER SEQUENCE public.sale_lines_id_seq INCREMENT BY 50 OWNED BY public.sale_lines.id;
+ALTER TABLE public.sale_lines ALTER COLUMN id SET DEFAULT nextval('public.sale_lines_id_seq');
+SELECT setval(
+  'public.sale_lines_id_seq',
+  GREATEST((SELECT COALESCE(MAX(id), 1) FROM public.sale_lines), 1),
+  true
+);
@@ -0,0 +1,32 @@
+CREATE SEQUENCE IF NOT EXISTS public.sale_tickets_id_seq INCREMENT BY 50 MINVALUE 1;
+
+CREATE TABLE IF NOT EXISTS public.sale_tickets (
+  id BIGINT PRIMARY KEY DEFAULT nextval('public.sale_tickets_id_seq'),
+  status VARCHAR(20) NOT NULL,
+  reference VARCHAR(120) NOT NULL,
+  payload TEXT NOT NULL,
+  sale_id BIGINT,
+  failure_type VARCHAR(40),
+  failure_reason TEXT,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+ALTER SEQUENCE public.sale_tickets_id_seq OWNED BY public.sale_tickets.id;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.sale_tickets'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_sale_tickets_sale_id'
+  ) THEN
+    ALTER TABLE public.sale_tickets
+      ADD CONSTRAINT fk_sale_tickets_sale_id
+      FOREIGN KEY (sale_id) REFERENCES public.sales(id) ON DELETE SET NULL;
+  END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_sale_tickets_pending ON public.sale_tickets (updated_at) WHERE status = 'PENDING';
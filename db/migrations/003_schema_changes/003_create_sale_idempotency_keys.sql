@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS public.sale_idempotency_keys (
+  idempotency_key VARCHAR(100) NOT NULL,
+  request_hash CHAR(64) NOT NULL,
+  sale_id BIGINT NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  CONSTRAINT pk_sale_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.sale_idempotency_keys'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_sale_idempotency_keys_sale_id'
+  ) THEN
+    ALTER TABLE public.sale_idempotency_keys
+      ADD CONSTRAINT fk_sale_idempotency_keys_sale_id
+      FOREIGN KEY (sale_id) REFERENCES public.sales(id) ON DELETE CASCADE;
+  END IF;
+END $$;
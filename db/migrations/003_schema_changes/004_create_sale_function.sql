@@ -0,0 +1,132 @@
+CREATE OR REPLACE FUNCTION public.create_sale(
+  p_reference VARCHAR,
+  p_variant_ids BIGINT[],
+  p_quantities INTEGER[]
+)
+RETURNS TABLE (
+  failure_type VARCHAR,
+  failure_reason TEXT,
+  sale_id BIGINT,
+  reference VARCHAR,
+  total_amount NUMERIC,
+  created_at TIMESTAMPTZ,
+  line_id BIGINT,
+  variant_id BIGINT,
+  sku VARCHAR,
+  variant_name VARCHAR,
+  quantity INTEGER,
+  unit_price NUMERIC,
+  line_total NUMERIC
+)
+LANGUAGE plpgsql
+AS $$
+#variable_conflict use_column
+DECLARE
+  v_line RECORD;
+  v_sale_id BIGINT;
+  v_total_amount NUMERIC(18, 2);
+BEGIN
+  IF cardinality(p_variant_ids) IS DISTINCT FROM cardinality(p_quantities) OR cardinality(p_variant_ids) = 0 THEN
+    RAISE EXCEPTION 'create_sale expects matching, non-empty variant and quantity arrays' USING ERRCODE = '22023';
+  END IF;
+
+  PERFORM 1
+  FROM public.item_variants variant
+  WHERE variant.id = ANY (p_variant_ids)
+  ORDER BY variant.id
+  FOR NO KEY UPDATE;
+
+  SELECT requested.variant_id AS requested_id
+  INTO v_line
+  FROM unnest(p_variant_ids) AS requested(variant_id)
+  LEFT JOIN public.item_variants variant ON variant.id = requested.variant_id
+  WHERE variant.id IS NULL
+  ORDER BY requested.variant_id
+  LIMIT 1;
+
+  IF FOUND THEN
+    RETURN QUERY SELECT
+      'NOT_FOUND'::VARCHAR, format('Variant with id %s was not found', v_line.requested_id),
+      NULL::BIGINT, NULL::VARCHAR, NULL::NUMERIC, NULL::TIMESTAMPTZ, NULL::BIGINT, NULL::BIGINT,
+      NULL::VARCHAR, NULL::VARCHAR, NULL::INTEGER, NULL::NUMERIC, NULL::NUMERIC;
+    RETURN;
+  END IF;
+
+  FOR v_line IN
+    SELECT
+      variant.id,
+      variant.active,
+      variant.stock_quantity,
+      item.id AS item_id,
+      item.active AS item_active,
+      requested.quantity AS requested_quantity
+    FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+    JOIN public.item_variants variant ON variant.id = requested.variant_id
+    JOIN public.items item ON item.id = variant.item_id
+    ORDER BY variant.id
+  LOOP
+    IF NOT v_line.active THEN
+      failure_reason := format('Variant %s is inactive and cannot be sold', v_line.id);
+    ELSIF NOT v_line.item_active THEN
+      failure_reason := format('Item %s is inactive and cannot be sold', v_line.item_id);
+    ELSIF v_line.stock_quantity < v_line.requested_quantity THEN
+      failure_reason := format(
+        'Insufficient stock for variant %s. Available: %s, requested: %s',
+        v_line.id,
+        v_line.stock_quantity,
+        v_line.requested_quantity
+      );
+    END IF;
+
+    IF failure_reason IS NOT NULL THEN
+      RETURN QUERY SELECT
+        'BUSINESS_RULE'::VARCHAR, failure_reason,
+        NULL::BIGINT, NULL::VARCHAR, NULL::NUMERIC, NULL::TIMESTAMPTZ, NULL::BIGINT, NULL::BIGINT,
+        NULL::VARCHAR, NULL::VARCHAR, NULL::INTEGER, NULL::NUMERIC, NULL::NUMERIC;
+      RETURN;
+    END IF;
+  END LOOP;
+
+  SELECT COALESCE(SUM(variant.price * requested.quantity), 0)
+  INTO v_total_amount
+  FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+  JOIN public.item_variants variant ON variant.id = requested.variant_id;
+
+  INSERT INTO public.sales AS sale (reference, total_amount)
+  VALUES (p_reference, v_total_amount)
+  RETURNING sale.id INTO v_sale_id;
+
+  UPDATE public.item_variants AS variant
+  SET stock_quantity = variant.stock_quantity - requested.quantity,
+      updated_at = NOW()
+  FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+  WHERE variant.id = requested.variant_id;
+
+  INSERT INTO public.sale_lines (sale_id, variant_id, quantity, unit_price, line_total)
+  SELECT v_sale_id, variant.id, requested.quantity, variant.price, variant.price * requested.quantity
+  FROM unnest(p_variant_ids, p_quantities) WITH ORDINALITY AS requested(variant_id, quantity, position)
+  JOIN public.item_variants variant ON variant.id = requested.variant_id
+  ORDER BY requested.position;
+
+  RETURN QUERY
+  SELECT
+    NULL::VARCHAR,
+    NULL::TEXT,
+    sale.id,
+    sale.reference,
+    sale.total_amount,
+    sale.created_at,
+    line.id,
+    line.variant_id,
+    variant.sku,
+    variant.name,
+    line.quantity,
+    line.unit_price,
+    line.line_total
+  FROM public.sales sale
+  JOIN public.sale_lines line ON line.sale_id = sale.id
+  JOIN public.item_variants variant ON variant.id = line.variant_id
+  WHERE sale.id = v_sale_id
+  ORDER BY line.id;
+END;
+$$;
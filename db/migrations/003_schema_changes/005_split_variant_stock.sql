@@ -0,0 +1,170 @@
+CREATE TABLE IF NOT EXISTS public.variant_stock (
+  variant_id BIGINT PRIMARY KEY,
+  stock_quantity INTEGER NOT NULL
+) WITH (fillfactor = 50);
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.variant_stock'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_variant_stock_variant_id'
+  ) THEN
+    ALTER TABLE public.variant_stock
+      ADD CONSTRAINT fk_variant_stock_variant_id
+      FOREIGN KEY (variant_id) REFERENCES public.item_variants(id) ON DELETE CASCADE;
+  END IF;
+END $$;
+
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1
+    FROM information_schema.columns
+    WHERE table_schema = 'public'
+      AND table_name = 'item_variants'
+      AND column_name = 'stock_quantity'
+  ) THEN
+    INSERT INTO public.variant_stock (variant_id, stock_quantity)
+    SELECT id, stock_quantity
+    FROM public.item_variants
+    ON CONFLICT (variant_id) DO NOTHING;
+
+    ALTER TABLE public.item_variants DROP COLUMN stock_quantity;
+  END IF;
+END $$;
+
+CREATE OR REPLACE FUNCTION public.create_sale(
+  p_reference VARCHAR,
+  p_variant_ids BIGINT[],
+  p_quantities INTEGER[]
+)
+RETURNS TABLE (
+  failure_type VARCHAR,
+  failure_reason TEXT,
+  sale_id BIGINT,
+  reference VARCHAR,
+  total_amount NUMERIC,
+  created_at TIMESTAMPTZ,
+  line_id BIGINT,
+  variant_id BIGINT,
+  sku VARCHAR,
+  variant_name VARCHAR,
+  quantity INTEGER,
+  unit_price NUMERIC,
+  line_total NUMERIC
+)
+LANGUAGE plpgsql
+AS $$
+#variable_conflict use_column
+DECLARE
+  v_line RECORD;
+  v_sale_id BIGINT;
+  v_total_amount NUMERIC(18, 2);
+BEGIN
+  IF cardinality(p_variant_ids) IS DISTINCT FROM cardinality(p_quantities) OR cardinality(p_variant_ids) = 0 THEN
+    RAISE EXCEPTION 'create_sale expects matching, non-empty variant and quantity arrays' USING ERRCODE = '22023';
+  END IF;
+
+  PERFORM 1
+  FROM public.variant_stock stock
+  WHERE stock.variant_id = ANY (p_variant_ids)
+  ORDER BY stock.variant_id
+  FOR NO KEY UPDATE;
+
+  SELECT requested.variant_id AS requested_id
+  INTO v_line
+  FROM unnest(p_variant_ids) AS requested(variant_id)
+  LEFT JOIN public.item_variants variant ON variant.id = requested.variant_id
+  WHERE variant.id IS NULL
+  ORDER BY requested.variant_id
+  LIMIT 1;
+
+  IF FOUND THEN
+    RETURN QUERY SELECT
+      'NOT_FOUND'::VARCHAR, format('Variant with id %s was not found', v_line.requested_id),
+      NULL::BIGINT, NULL::VARCHAR, NULL::NUMERIC, NULL::TIMESTAMPTZ, NULL::BIGINT, NULL::BIGINT,
+      NULL::VARCHAR, NULL::VARCHAR, NULL::INTEGER, NULL::NUMERIC, NULL::NUMERIC;
+    RETURN;
+  END IF;
+
+  FOR v_line IN
+    SELECT
+      variant.id,
+      variant.active,
+      stock.stock_quantity,
+      item.id AS item_id,
+      item.active AS item_active,
+      requested.quantity AS requested_quantity
+    FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+    JOIN public.item_variants variant ON variant.id = requested.variant_id
+    JOIN public.variant_stock stock ON stock.variant_id = variant.id
+    JOIN public.items item ON item.id = variant.item_id
+    ORDER BY variant.id
+  LOOP
+    IF NOT v_line.active THEN
+      failure_reason := format('Variant %s is inactive and cannot be sold', v_line.id);
+    ELSIF NOT v_line.item_active THEN
+      failure_reason := format('Item %s is inactive and cannot be sold', v_line.item_id);
+    ELSIF v_line.stock_quantity < v_line.requested_quantity THEN
+      failure_reason := format(
+        'Insufficient stock for variant %s. Available: %s, requested: %s',
+        v_line.id,
+        v_line.stock_quantity,
+        v_line.requested_quantity
+      );
+    END IF;
+
+    IF failure_reason IS NOT NULL THEN
+      RETURN QUERY SELECT
+        'BUSINESS_RULE'::VARCHAR, failure_reason,
+        NULL::BIGINT, NULL::VARCHAR, NULL::NUMERIC, NULL::TIMESTAMPTZ, NULL::BIGINT, NULL::BIGINT,
+        NULL::VARCHAR, NULL::VARCHAR, NULL::INTEGER, NULL::NUMERIC, NULL::NUMERIC;
+      RETURN;
+    END IF;
+  END LOOP;
+
+  SELECT COALESCE(SUM(variant.price * requested.quantity), 0)
+  INTO v_total_amount
+  FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+  JOIN public.item_variants variant ON variant.id = requested.variant_id;
+
+  INSERT INTO public.sales AS sale (reference, total_amount)
+  VALUES (p_reference, v_total_amount)
+  RETURNING sale.id INTO v_sale_id;
+
+  UPDATE public.variant_stock AS stock
+  SET stock_quantity = stock.stock_quantity - requested.quantity
+  FROM unnest(p_variant_ids, p_quantities) AS requested(variant_id, quantity)
+  WHERE stock.variant_id = requested.variant_id;
+
+  INSERT INTO public.sale_lines (sale_id, variant_id, quantity, unit_price, line_total)
+  SELECT v_sale_id, variant.id, requested.quantity, variant.price, variant.price * requested.quantity
+  FROM unnest(p_variant_ids, p_quantities) WITH ORDINALITY AS requested(variant_id, quantity, position)
+  JOIN public.item_variants variant ON variant.id = requested.variant_id
+  ORDER BY requested.position;
+
+  RETURN QUERY
+  SELECT
+    NULL::VARCHAR,
+    NULL::TEXT,
+    sale.id,
+    sale.reference,
+    sale.total_amount,
+    sale.created_at,
+    line.id,
+    line.variant_id,
+    variant.sku,
+    variant.name,
+    line.quantity,
+    line.unit_price,
+    line.line_total
+  FROM public.sales sale
+  JOIN public.sale_lines line ON line.sale_id = sale.id
+  JOIN public.item_variants variant ON variant.id = line.variant_id
+  WHERE sale.id = v_sale_id
+  ORDER BY line.id;
+END;
+$$;
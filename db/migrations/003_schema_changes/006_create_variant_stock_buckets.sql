@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS public.variant_stock_buckets (
+  variant_id BIGINT NOT NULL,
+  bucket SMALLINT NOT NULL,
+  stock_quantity INTEGER NOT NULL,
+  CONSTRAINT pk_variant_stock_buckets PRIMARY KEY (variant_id, bucket)
+) WITH (fillfactor = 50);
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.variant_stock_buckets'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_variant_stock_buckets_variant_id'
+  ) THEN
+    ALTER TABLE public.variant_stock_buckets
+      ADD CONSTRAINT fk_variant_stock_buckets_variant_id
+      FOREIGN KEY (variant_id) REFERENCES public.variant_stock(variant_id) ON DELETE CASCADE;
+  END IF;
+END $$;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS public.variant_stock_leases (
+  variant_id BIGINT NOT NULL,
+  node_id VARCHAR(100) NOT NULL,
+  quantity INTEGER NOT NULL,
+  expires_at TIMESTAMPTZ NOT NULL,
+  CONSTRAINT pk_variant_stock_leases PRIMARY KEY (variant_id, node_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_variant_stock_leases_expires_at
+  ON public.variant_stock_leases (expires_at);
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.variant_stock_leases'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_variant_stock_leases_variant_id'
+  ) THEN
+    ALTER TABLE public.variant_stock_leases
+      ADD CONSTRAINT fk_variant_stock_leases_variant_id
+      FOREIGN KEY (variant_id) REFERENCES public.variant_stock(variant_id) ON DELETE CASCADE;
+  END IF;
+END $$;
@@ -0,0 +1,67 @@
+CREATE SEQUENCE IF NOT EXISTS public.stock_reservations_id_seq INCREMENT BY 50 MINVALUE 1;
+CREATE SEQUENCE IF NOT EXISTS public.stock_reservation_lines_id_seq INCREMENT BY 50 MINVALUE 1;
+
+CREATE TABLE IF NOT EXISTS public.stock_reservations (
+  id BIGINT PRIMARY KEY DEFAULT nextval('public.stock_reservations_id_seq'),
+  status VARCHAR(20) NOT NULL,
+  reference VARCHAR(120) NOT NULL DEFAULT '',
+  expires_at TIMESTAMPTZ NOT NULL,
+  sale_id BIGINT,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS public.stock_reservation_lines (
+  id BIGINT PRIMARY KEY DEFAULT nextval('public.stock_reservation_lines_id_seq'),
+  reservation_id BIGINT NOT NULL,
+  variant_id BIGINT NOT NULL,
+  quantity INTEGER NOT NULL CHECK (quantity > 0)
+);
+
+ALTER SEQUENCE public.stock_reservations_id_seq OWNED BY public.stock_reservations.id;
+ALTER SEQUENCE public.stock_reservation_lines_id_seq OWNED BY public.stock_reservation_lines.id;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.stock_reservations'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_stock_reservations_sale_id'
+  ) THEN
+    ALTER TABLE public.stock_reservations
+      ADD CONSTRAINT fk_stock_reservations_sale_id
+      FOREIGN KEY (sale_id) REFERENCES public.sales(id) ON DELETE SET NULL;
+  END IF;
+
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.stock_reservation_lines'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_stock_reservation_lines_reservation_id'
+  ) THEN
+    ALTER TABLE public.stock_reservation_lines
+      ADD CONSTRAINT fk_stock_reservation_lines_reservation_id
+      FOREIGN KEY (reservation_id) REFERENCES public.stock_reservations(id) ON DELETE CASCADE;
+  END IF;
+
+  IF NOT EXISTS (
+    SELECT 1
+    FROM pg_constraint
+    WHERE conrelid = 'public.stock_reservation_lines'::regclass
+      AND contype = 'f'
+      AND conname = 'fk_stock_reservation_lines_variant_id'
+  ) THEN
+    ALTER TABLE public.stock_reservation_lines
+      ADD CONSTRAINT fk_stock_reservation_lines_variant_id
+      FOREIGN KEY (variant_id) REFERENCES public.item_variants(id) ON DELETE CASCADE;
+  END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_lines_reservation_id
+  ON public.stock_reservation_lines (reservation_id);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_held
+  ON public.stock_reservations (expires_at) WHERE status = 'HELD';
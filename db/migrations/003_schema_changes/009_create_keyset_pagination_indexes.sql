@@ -0,0 +1,10 @@
+CREATE INDEX IF NOT EXISTS idx_items_created_at_id
+  ON public.items (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_item_variants_item_id_created_at_id
+  ON public.item_variants (item_id, created_at, id);
+
+DROP INDEX IF EXISTS public.idx_item_variants_item_id;
+
+CREATE INDEX IF NOT EXISTS idx_sales_created_at_id
+  ON public.sales (created_at, id);
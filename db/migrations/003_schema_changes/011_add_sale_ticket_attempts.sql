@@ -0,0 +1 @@
+ALTER TABLE public.sale_tickets ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+ALTER TABLE public.variant_stock_leases ADD COLUMN IF NOT EXISTS lease_id BIGINT GENERATED ALWAYS AS IDENTITY;
+ALTER TABLE public.variant_stock_leases ADD COLUMN IF NOT EXISTS sold_quantity INTEGER NOT NULL DEFAULT 0;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_variant_stock_leases_lease_id
+  ON public.variant_stock_leases (lease_id);
+
+ALTER TABLE public.sale_lines ADD COLUMN IF NOT EXISTS stock_lease_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_sale_lines_stock_lease_id
+  ON public.sale_lines (stock_lease_id)
+  WHERE stock_lease_id IS NOT NULL;
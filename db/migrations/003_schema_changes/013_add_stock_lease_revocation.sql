@@ -0,0 +1 @@
+ALTER TABLE public.variant_stock_leases ADD COLUMN IF NOT EXISTS revoked BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX IF NOT EXISTS uk_stock_reservations_held_reference
+  ON public.stock_reservations (reference) WHERE status = 'HELD' AND reference <> '';
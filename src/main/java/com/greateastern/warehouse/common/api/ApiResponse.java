@@ -7,7 +7,8 @@ import java.util.Optional;
 public record ApiResponse<T>(
     String code,
     ApiMessage message,
-    @JsonInclude(JsonInclude.Include.NON_ABSENT) Optional<T> data
+    @JsonInclude(JsonInclude.Include.NON_ABSENT) Optional<T> data,
+    @JsonInclude(JsonInclude.Include.NON_ABSENT) Optional<String> nextCursor
 ) {
 
   public ApiResponse {
@@ -22,5 +23,9 @@ public record ApiResponse<T>(
     if (data == null) {
       throw new IllegalArgumentException("Response data container must not be null");
     }
+
+    if (nextCursor == null) {
+      throw new IllegalArgumentException("Response cursor container must not be null");
+    }
   }
 }
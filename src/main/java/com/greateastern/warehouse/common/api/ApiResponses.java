@@ -1,5 +1,6 @@
 package com.greateastern.warehouse.common.api;
 
+import java.util.List;
 import java.util.Optional;
 
 public final class ApiResponses {
@@ -12,11 +13,19 @@ public final class ApiResponses {
       throw new IllegalArgumentException("Success response data must not be null");
     }
 
-    return new ApiResponse<>(ApiCode.SUCCESS.value(), new TextMessage(message), Optional.of(data));
+    return new ApiResponse<>(ApiCode.SUCCESS.value(), new TextMessage(message), Optional.of(data), Optional.empty());
+  }
+
+  public static <T> ApiResponse<List<T>> success(String message, CursorPage<T> page) {
+    if (page == null) {
+      throw new IllegalArgumentException("Success response page must not be null");
+    }
+
+    return new ApiResponse<>(ApiCode.SUCCESS.value(), new TextMessage(message), Optional.of(page.items()), page.nextCursor());
   }
 
   public static ApiResponse<String> success(String message) {
-    return new ApiResponse<>(ApiCode.SUCCESS.value(), new TextMessage(message), Optional.empty());
+    return new ApiResponse<>(ApiCode.SUCCESS.value(), new TextMessage(message), Optional.empty(), Optional.empty());
   }
 
   public static <T> ApiResponse<T> pending(String message, T data) {
@@ -24,10 +33,10 @@ public final class ApiResponses {
       throw new IllegalArgumentException("Pending response data must not be null");
     }
 
-    return new ApiResponse<>(ApiCode.PENDING.value(), new TextMessage(message), Optional.of(data));
+    return new ApiResponse<>(ApiCode.PENDING.value(), new TextMessage(message), Optional.of(data), Optional.empty());
   }
 
   public static ApiResponse<String> failure(ApiMessage message) {
-    return new ApiResponse<>(ApiCode.FAILURE.value(), message, Optional.empty());
+    return new ApiResponse<>(ApiCode.FAILURE.value(), message, Optional.empty(), Optional.empty());
   }
 }
@@ -0,0 +1,29 @@
+package com.greateastern.warehouse.common.api;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, Optional<String> nextCursor) {
+
+  public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+    return of(rows, size, cursorOf, Function.identity());
+  }
+
+  public static <E, T> CursorPage<T> of(
+      List<E> rows,
+      int size,
+      Function<E, PageCursor> cursorOf,
+      Function<E, T> mapper
+  ) {
+    List<E> pageRows = rows.size() > size ? rows.subList(0, size) : rows;
+    Optional<String> nextCursor = rows.size() > size
+        ? Optional.of(cursorOf.apply(pageRows.get(size - 1)).encode())
+        : Optional.empty();
+    return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+  }
+
+  public static <T> CursorPage<T> last(List<T> items) {
+    return new CursorPage<>(items, Optional.empty());
+  }
+}
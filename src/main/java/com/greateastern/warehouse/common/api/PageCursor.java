@@ -0,0 +1,30 @@
+package com.greateastern.warehouse.common.api;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record PageCursor(Instant createdAt, Long id) {
+
+  private static final PageCursor FIRST = new PageCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+  public static PageCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return FIRST;
+    }
+
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf('|');
+      return new PageCursor(Instant.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+      throw new BusinessRuleException("Invalid page cursor: " + cursor);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,24 @@
+package com.greateastern.warehouse.common.api;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "warehouse.pagination")
+public record PaginationProperties(
+    @DefaultValue("50") int defaultPageSize,
+    @DefaultValue("200") int maxPageSize
+) {
+
+  public int resolvePageSize(Integer requestedSize) {
+    if (requestedSize == null) {
+      return defaultPageSize;
+    }
+
+    if (requestedSize < 1) {
+      throw new BusinessRuleException("Page size must be at least 1. Requested: " + requestedSize);
+    }
+
+    return Math.min(requestedSize, maxPageSize);
+  }
+}
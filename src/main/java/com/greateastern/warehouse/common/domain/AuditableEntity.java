@@ -5,6 +5,7 @@ import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @MappedSuperclass
 public abstract class AuditableEntity {
@@ -17,14 +18,14 @@ public abstract class AuditableEntity {
 
   @PrePersist
   void onCreate() {
-    Instant now = Instant.now();
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
     createdAt = now;
     updatedAt = now;
   }
 
   @PreUpdate
   void onUpdate() {
-    updatedAt = Instant.now();
+    updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
   }
 
   public Instant getCreatedAt() {
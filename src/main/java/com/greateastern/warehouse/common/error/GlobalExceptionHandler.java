@@ -10,16 +10,24 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+  private static final String SALE_REFERENCE_CONSTRAINT = "uk_sales_reference";
+  private static final String HELD_RESERVATION_REFERENCE_CONSTRAINT = "uk_stock_reservations_held_reference";
+  private static final String VARIANT_SKU_CONSTRAINT = "uk_item_variants_sku";
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<ApiResponse<String>> handleNotFound(ResourceNotFoundException ex) {
     return buildFailureResponse(
@@ -44,6 +52,35 @@ public class GlobalExceptionHandler {
     );
   }
 
+  @ExceptionHandler(ResourceBusyException.class)
+  public ResponseEntity<ApiResponse<String>> handleResourceBusy(ResourceBusyException ex) {
+    return buildBusyResponse(ex.getMessage());
+  }
+
+  @ExceptionHandler(PessimisticLockingFailureException.class)
+  public ResponseEntity<ApiResponse<String>> handlePessimisticLockingFailure(PessimisticLockingFailureException ex) {
+    return buildBusyResponse("Concurrent updates kept the requested rows locked");
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ApiResponse<String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+    String constraintName = SqlStates.findUniqueViolationConstraint(ex).orElse(null);
+
+    if (SALE_REFERENCE_CONSTRAINT.equals(constraintName)) {
+      return handleBusinessRule(new BusinessRuleException("Sale reference already exists"));
+    }
+
+    if (HELD_RESERVATION_REFERENCE_CONSTRAINT.equals(constraintName)) {
+      return handleBusinessRule(new BusinessRuleException("Sale reference is already held by another reservation"));
+    }
+
+    if (VARIANT_SKU_CONSTRAINT.equals(constraintName)) {
+      return handleConflict(new ConflictException("Variant SKU already exists"));
+    }
+
+    return handleUnexpected(ex);
+  }
+
   @ExceptionHandler(ThirdPartyApiException.class)
   public ResponseEntity<ApiResponse<String>> handleThirdParty(ThirdPartyApiException ex) {
     return buildFailureResponse(
@@ -85,6 +122,10 @@ public class GlobalExceptionHandler {
     return buildFailureResponse(HttpStatus.BAD_REQUEST, new MissingFieldsFailureMessage(expectedFields));
   }
 
+  @ExceptionHandler(AsyncRequestNotUsableException.class)
+  public void handleAsyncRequestNotUsable(AsyncRequestNotUsableException ex) {
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ApiResponse<String>> handleUnexpected(Exception ex) {
     String failureReason = safeReason(ex.getClass().getSimpleName() + ": " + ex.getMessage());
@@ -94,6 +135,14 @@ public class GlobalExceptionHandler {
     );
   }
 
+  private ResponseEntity<ApiResponse<String>> buildBusyResponse(String reason) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(ApiResponses.failure(
+            new BugFailureMessage("Resource busy", safeReason(reason), "Retry the request after a short delay")
+        ));
+  }
+
   private ResponseEntity<ApiResponse<String>> buildFailureResponse(HttpStatus status, ApiMessage failureMessage) {
     return ResponseEntity.status(status).body(ApiResponses.failure(failureMessage));
   }
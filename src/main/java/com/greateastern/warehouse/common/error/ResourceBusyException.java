@@ -0,0 +1,12 @@
+package com.greateastern.warehouse.common.error;
+
+public class ResourceBusyException extends RuntimeException {
+
+  public ResourceBusyException(String message) {
+    super(message);
+  }
+
+  public ResourceBusyException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
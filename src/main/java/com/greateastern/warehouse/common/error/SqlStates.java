@@ -0,0 +1,50 @@
+package com.greateastern.warehouse.common.error;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
+
+public final class SqlStates {
+
+  public static final String UNIQUE_VIOLATION = "23505";
+  public static final String SERIALIZATION_FAILURE = "40001";
+  public static final String DEADLOCK_DETECTED = "40P01";
+  public static final String LOCK_NOT_AVAILABLE = "55P03";
+
+  private SqlStates() {
+  }
+
+  public static Optional<String> findSqlState(Throwable throwable) {
+    for (Throwable cause = throwable; cause != null; cause = nextCause(cause)) {
+      if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+        return Optional.of(sqlException.getSQLState());
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  public static Optional<String> findUniqueViolationConstraint(Throwable throwable) {
+    if (!findSqlState(throwable).filter(UNIQUE_VIOLATION::equals).isPresent()) {
+      return Optional.empty();
+    }
+
+    for (Throwable cause = throwable; cause != null; cause = nextCause(cause)) {
+      if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+        return Optional.of(stripSchema(violation.getConstraintName()));
+      }
+    }
+
+    return Optional.of("");
+  }
+
+  private static Throwable nextCause(Throwable throwable) {
+    Throwable cause = throwable.getCause();
+    return cause == throwable ? null : cause;
+  }
+
+  private static String stripSchema(String constraintName) {
+    int separator = constraintName.lastIndexOf('.');
+    return separator < 0 ? constraintName : constraintName.substring(separator + 1);
+  }
+}
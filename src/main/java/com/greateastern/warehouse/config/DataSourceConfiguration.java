@@ -41,6 +41,7 @@ public class DataSourceConfiguration {
     config.setMaximumPoolSize(resolveInteger(environment, "DATABASE_POOL_MAX_SIZE", 10));
     config.setMinimumIdle(resolveInteger(environment, "DATABASE_POOL_MIN_IDLE", 2));
     config.setConnectionTimeout(resolveLong(environment, "DATABASE_POOL_CONNECTION_TIMEOUT_MS", 30000L));
+    config.addDataSourceProperty("reWriteBatchedInserts", "true");
     return new HikariDataSource(config);
   }
 
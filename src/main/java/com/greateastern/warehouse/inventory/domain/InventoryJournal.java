@@ -0,0 +1,233 @@
+package com.greateastern.warehouse.inventory.domain;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public final class InventoryJournal implements Closeable {
+
+  private static final String SEGMENT_SUFFIX = ".journal";
+  private static final String SEGMENT_PREFIX = "partition-";
+  private static final byte HOLD_RECORD = 1;
+  private static final byte APPLY_RECORD = 2;
+
+  private final Path directory;
+  private final int partitionIndex;
+  private final boolean fsync;
+  private long segmentSequence;
+  private long pendingRecords;
+  private Path activeSegment;
+  private FileOutputStream fileStream;
+  private DataOutputStream output;
+
+  public InventoryJournal(Path directory, int partitionIndex, boolean fsync) {
+    this.directory = directory;
+    this.partitionIndex = partitionIndex;
+    this.fsync = fsync;
+    this.segmentSequence = System.currentTimeMillis();
+    openSegment();
+  }
+
+  public void appendHold(long transactionId, Map<Long, Integer> deltaByVariant) {
+    appendRecord(HOLD_RECORD, transactionId, deltaByVariant);
+  }
+
+  public void appendApply(long transactionId, Map<Long, Integer> stockByVariant) {
+    appendRecord(APPLY_RECORD, transactionId, stockByVariant);
+  }
+
+  public void commit() {
+    try {
+      output.flush();
+
+      if (fsync) {
+        fileStream.getFD().sync();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to commit inventory journal segment " + activeSegment, ex);
+    }
+  }
+
+  public Path rotate() {
+    commit();
+    Path sealedSegment = activeSegment;
+    boolean empty = pendingRecords == 0;
+    closeSegment();
+
+    if (empty) {
+      deleteSegment(sealedSegment);
+      sealedSegment = null;
+    }
+
+    segmentSequence++;
+    openSegment();
+    return sealedSegment;
+  }
+
+  @Override
+  public void close() {
+    Path lastSegment = activeSegment;
+    boolean empty = pendingRecords == 0;
+    commit();
+    closeSegment();
+
+    if (empty) {
+      deleteSegment(lastSegment);
+    }
+  }
+
+  public static List<Path> listSegments(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .toList();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to list inventory journal segments in " + directory, ex);
+    }
+  }
+
+  public static Replay replay(List<Path> segments) {
+    Map<Long, Integer> latestStockByVariant = new LinkedHashMap<>();
+    Map<Long, Map<Long, Integer>> pendingDeltasByTransaction = new HashMap<>();
+    Map<Long, Map<Long, Integer>> partitionHolds = new HashMap<>();
+    String partition = null;
+
+    for (Path segment : segments) {
+      String segmentPartition = partitionOf(segment);
+
+      if (!segmentPartition.equals(partition)) {
+        mergeHolds(pendingDeltasByTransaction, partitionHolds);
+        partition = segmentPartition;
+      }
+
+      try (InputStream fileInput = Files.newInputStream(segment);
+          DataInputStream input = new DataInputStream(new BufferedInputStream(fileInput))) {
+        while (true) {
+          byte type = input.readByte();
+          long transactionId = input.readLong();
+          Map<Long, Integer> values = readValues(input);
+
+          if (type == HOLD_RECORD) {
+            if (values.isEmpty()) {
+              partitionHolds.remove(transactionId);
+            } else {
+              partitionHolds.put(transactionId, values);
+            }
+          } else if (type == APPLY_RECORD) {
+            latestStockByVariant.putAll(values);
+            partitionHolds.remove(transactionId);
+          } else {
+            throw new IllegalStateException("Unknown inventory journal record type " + type + " in " + segment);
+          }
+        }
+      } catch (EOFException ex) {
+        // A torn trailing record means the write was never acknowledged; stop at the last complete one.
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Failed to replay inventory journal segment " + segment, ex);
+      }
+    }
+
+    mergeHolds(pendingDeltasByTransaction, partitionHolds);
+    return new Replay(latestStockByVariant, pendingDeltasByTransaction);
+  }
+
+  public static void deleteSegments(List<Path> segments) {
+    for (Path segment : segments) {
+      deleteSegment(segment);
+    }
+  }
+
+  private void appendRecord(byte type, long transactionId, Map<Long, Integer> values) {
+    try {
+      output.writeByte(type);
+      output.writeLong(transactionId);
+      output.writeInt(values.size());
+
+      for (Map.Entry<Long, Integer> entry : values.entrySet()) {
+        output.writeLong(entry.getKey());
+        output.writeInt(entry.getValue());
+      }
+
+      pendingRecords++;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to append inventory journal record", ex);
+    }
+  }
+
+  private static Map<Long, Integer> readValues(DataInputStream input) throws IOException {
+    int size = input.readInt();
+    Map<Long, Integer> values = new LinkedHashMap<>();
+
+    for (int index = 0; index < size; index++) {
+      values.put(input.readLong(), input.readInt());
+    }
+
+    return values;
+  }
+
+  private static void mergeHolds(
+      Map<Long, Map<Long, Integer>> pendingDeltasByTransaction,
+      Map<Long, Map<Long, Integer>> partitionHolds
+  ) {
+    partitionHolds.forEach((transactionId, deltas) -> pendingDeltasByTransaction
+        .computeIfAbsent(transactionId, id -> new LinkedHashMap<>())
+        .putAll(deltas));
+    partitionHolds.clear();
+  }
+
+  private static String partitionOf(Path segment) {
+    String fileName = segment.getFileName().toString();
+    return fileName.substring(0, fileName.indexOf('-', SEGMENT_PREFIX.length()));
+  }
+
+  private void openSegment() {
+    try {
+      Files.createDirectories(directory);
+      activeSegment = directory.resolve(
+          String.format("%s%03d-%019d%s", SEGMENT_PREFIX, partitionIndex, segmentSequence, SEGMENT_SUFFIX));
+      fileStream = new FileOutputStream(activeSegment.toFile(), true);
+      output = new DataOutputStream(new BufferedOutputStream(fileStream));
+      pendingRecords = 0;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to open inventory journal segment in " + directory, ex);
+    }
+  }
+
+  private void closeSegment() {
+    try {
+      output.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to close inventory journal segment " + activeSegment, ex);
+    }
+  }
+
+  private static void deleteSegment(Path segment) {
+    try {
+      Files.deleteIfExists(segment);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to delete inventory journal segment " + segment, ex);
+    }
+  }
+
+  public record Replay(Map<Long, Integer> stockByVariant, Map<Long, Map<Long, Integer>> pendingDeltasByTransaction) {
+  }
+}
@@ -0,0 +1,143 @@
+package com.greateastern.warehouse.inventory.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class StockBucketStore {
+
+  private static final String SELLABLE_VARIANT_SQL = """
+      EXISTS (
+        SELECT 1
+        FROM public.item_variants variant
+        JOIN public.items item ON item.id = variant.item_id
+        WHERE variant.id = ? AND variant.active AND item.active
+      )
+      """;
+  private static final String SELECT_STRIPED_VARIANTS_SQL =
+      "SELECT DISTINCT variant_id FROM public.variant_stock_buckets";
+  private static final String SELECT_HOME_SQL =
+      "SELECT stock_quantity FROM public.variant_stock WHERE variant_id = ?";
+  private static final String SUM_BUCKETS_SQL = """
+      SELECT variant_id, SUM(stock_quantity) AS stock_quantity
+      FROM public.variant_stock_buckets
+      WHERE variant_id = ANY (?)
+      GROUP BY variant_id
+      """;
+  private static final String SELECT_BUCKETS_SQL =
+      "SELECT bucket, stock_quantity FROM public.variant_stock_buckets WHERE variant_id = ? ORDER BY bucket";
+  private static final String TAKE_FROM_HOME_SQL = """
+      UPDATE public.variant_stock
+      SET stock_quantity = stock_quantity - ?
+      WHERE variant_id = ? AND stock_quantity >= ? AND
+      """ + SELLABLE_VARIANT_SQL;
+  private static final String TAKE_FROM_BUCKET_SQL = """
+      UPDATE public.variant_stock_buckets
+      SET stock_quantity = stock_quantity - ?
+      WHERE variant_id = ? AND bucket = ? AND stock_quantity >= ? AND
+      """ + SELLABLE_VARIANT_SQL;
+  private static final String ADD_TO_HOME_SQL =
+      "UPDATE public.variant_stock SET stock_quantity = stock_quantity + ? WHERE variant_id = ?";
+  private static final String ADD_TO_BUCKET_SQL =
+      "UPDATE public.variant_stock_buckets SET stock_quantity = stock_quantity + ? WHERE variant_id = ? AND bucket = ?";
+  private static final String WRITE_HOME_SQL =
+      "UPDATE public.variant_stock SET stock_quantity = ? WHERE variant_id = ?";
+  private static final String WRITE_BUCKET_SQL = """
+      INSERT INTO public.variant_stock_buckets (variant_id, bucket, stock_quantity)
+      VALUES (?, ?, ?)
+      ON CONFLICT (variant_id, bucket) DO UPDATE SET stock_quantity = EXCLUDED.stock_quantity
+      """;
+  private static final String DELETE_BUCKETS_FROM_SQL =
+      "DELETE FROM public.variant_stock_buckets WHERE variant_id = ? AND bucket >= ?";
+  private static final String SELECT_SELLABLE_SQL = "SELECT " + SELLABLE_VARIANT_SQL;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public StockBucketStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<Long> findStripedVariantIds() {
+    return jdbcTemplate.queryForList(SELECT_STRIPED_VARIANTS_SQL, Long.class);
+  }
+
+  public Integer loadHome(Long variantId) {
+    return jdbcTemplate.query(SELECT_HOME_SQL, resultSet -> resultSet.next() ? resultSet.getInt(1) : null, variantId);
+  }
+
+  public Integer lockHome(Long variantId) {
+    return jdbcTemplate.query(
+        SELECT_HOME_SQL + " FOR NO KEY UPDATE",
+        resultSet -> resultSet.next() ? resultSet.getInt(1) : null,
+        variantId
+    );
+  }
+
+  public Map<Integer, Integer> loadBuckets(Long variantId) {
+    return queryBuckets(SELECT_BUCKETS_SQL, variantId);
+  }
+
+  public Map<Integer, Integer> lockBuckets(Long variantId) {
+    return queryBuckets(SELECT_BUCKETS_SQL + " FOR NO KEY UPDATE", variantId);
+  }
+
+  public Map<Long, Integer> sumBuckets(Collection<Long> variantIds) {
+    Map<Long, Integer> stockByVariant = new HashMap<>();
+    jdbcTemplate.query(SUM_BUCKETS_SQL, resultSet -> {
+      stockByVariant.put(resultSet.getLong("variant_id"), resultSet.getInt("stock_quantity"));
+    }, (Object) variantIds.toArray(Long[]::new));
+    return stockByVariant;
+  }
+
+  public boolean isSellable(Long variantId) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SELECT_SELLABLE_SQL, Boolean.class, variantId));
+  }
+
+  public boolean takeFromHome(Long variantId, int quantity) {
+    return jdbcTemplate.update(TAKE_FROM_HOME_SQL, quantity, variantId, quantity, variantId) == 1;
+  }
+
+  public boolean takeFromBucket(Long variantId, int bucket, int quantity) {
+    return jdbcTemplate.update(TAKE_FROM_BUCKET_SQL, quantity, variantId, bucket, quantity, variantId) == 1;
+  }
+
+  public void addToHome(Long variantId, int quantity) {
+    jdbcTemplate.update(ADD_TO_HOME_SQL, quantity, variantId);
+  }
+
+  public void addToBucket(Long variantId, int bucket, int quantity) {
+    jdbcTemplate.update(ADD_TO_BUCKET_SQL, quantity, variantId, bucket);
+  }
+
+  public void writeHome(Long variantId, int stockQuantity) {
+    jdbcTemplate.update(WRITE_HOME_SQL, stockQuantity, variantId);
+  }
+
+  public void writeBuckets(Long variantId, Map<Integer, Integer> stockByBucket) {
+    List<Object[]> arguments = new ArrayList<>(stockByBucket.size());
+    new TreeMap<>(stockByBucket).forEach((bucket, stockQuantity) -> arguments.add(new Object[] {variantId, bucket, stockQuantity}));
+    jdbcTemplate.batchUpdate(WRITE_BUCKET_SQL, arguments);
+  }
+
+  public void deleteBuckets(Long variantId) {
+    deleteBucketsFrom(variantId, 0);
+  }
+
+  public void deleteBucketsFrom(Long variantId, int firstBucket) {
+    jdbcTemplate.update(DELETE_BUCKETS_FROM_SQL, variantId, firstBucket);
+  }
+
+  private Map<Integer, Integer> queryBuckets(String sql, Long variantId) {
+    Map<Integer, Integer> stockByBucket = new TreeMap<>();
+    jdbcTemplate.query(sql, resultSet -> {
+      stockByBucket.put(resultSet.getInt("bucket"), resultSet.getInt("stock_quantity"));
+    }, variantId);
+    return stockByBucket;
+  }
+}
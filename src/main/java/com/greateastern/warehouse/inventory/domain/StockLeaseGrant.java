@@ -0,0 +1,4 @@
+package com.greateastern.warehouse.inventory.domain;
+
+public record StockLeaseGrant(long leaseId, int quantity) {
+}
@@ -0,0 +1,167 @@
+package com.greateastern.warehouse.inventory.domain;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class StockLeaseStore {
+
+  private static final String GRANT_SQL = """
+      WITH granted AS (
+        UPDATE public.variant_stock stock
+        SET stock_quantity = stock.stock_quantity - requested.quantity
+        FROM (
+          SELECT variant_id, LEAST(stock_quantity, GREATEST(?, LEAST(?, stock_quantity / 2))) AS quantity
+          FROM public.variant_stock
+          WHERE variant_id = ?
+          FOR NO KEY UPDATE
+        ) requested
+        WHERE stock.variant_id = requested.variant_id AND requested.quantity >= ?
+        RETURNING requested.variant_id, requested.quantity
+      )
+      INSERT INTO public.variant_stock_leases AS lease (variant_id, node_id, quantity, expires_at)
+      SELECT variant_id, ?, quantity, NOW() + ? * INTERVAL '1 millisecond'
+      FROM granted
+      ON CONFLICT (variant_id, node_id) DO UPDATE
+      SET quantity = lease.quantity + EXCLUDED.quantity, expires_at = EXCLUDED.expires_at
+      RETURNING lease.lease_id, (SELECT quantity FROM granted)
+      """;
+  private static final String TAKE_STOCK_SQL = """
+      UPDATE public.variant_stock
+      SET stock_quantity = stock_quantity - ?
+      WHERE variant_id = ? AND stock_quantity >= ?
+      """;
+  private static final String SELECT_STOCK_SQL =
+      "SELECT stock_quantity FROM public.variant_stock WHERE variant_id = ?";
+  private static final String RENEW_SQL = """
+      UPDATE public.variant_stock_leases
+      SET expires_at = NOW() + ? * INTERVAL '1 millisecond', sold_quantity = ?
+      WHERE lease_id = ? AND NOT revoked
+      """;
+  private static final String RETURN_SQL = """
+      WITH returned AS (
+        DELETE FROM public.variant_stock_leases lease
+        WHERE lease.lease_id = ?
+        RETURNING lease.variant_id, lease.quantity - (
+          SELECT COALESCE(SUM(line.quantity), 0)
+          FROM public.sale_lines line
+          WHERE line.stock_lease_id = lease.lease_id
+        ) AS quantity
+      )
+      UPDATE public.variant_stock stock
+      SET stock_quantity = stock.stock_quantity + returned.quantity
+      FROM returned
+      WHERE stock.variant_id = returned.variant_id
+      """;
+  private static final String RECLAIM_EXPIRED_SQL = """
+      WITH expired AS (
+        DELETE FROM public.variant_stock_leases lease
+        WHERE lease.expires_at < NOW()
+        RETURNING lease.variant_id, lease.quantity - (
+          SELECT COALESCE(SUM(line.quantity), 0)
+          FROM public.sale_lines line
+          WHERE line.stock_lease_id = lease.lease_id
+        ) AS quantity
+      )
+      UPDATE public.variant_stock stock
+      SET stock_quantity = stock.stock_quantity + reclaimed.quantity
+      FROM (SELECT variant_id, SUM(quantity) AS quantity FROM expired GROUP BY variant_id) reclaimed
+      WHERE stock.variant_id = reclaimed.variant_id
+      """;
+  private static final String REVOKE_SQL = """
+      UPDATE public.variant_stock_leases lease
+      SET revoked = TRUE, quantity = (
+        SELECT COALESCE(SUM(line.quantity), 0)
+        FROM public.sale_lines line
+        WHERE line.stock_lease_id = lease.lease_id
+      )
+      WHERE lease.variant_id = ?
+      """;
+  private static final String SUM_LEASES_SQL = """
+      SELECT variant_id, SUM(quantity - sold_quantity) AS quantity
+      FROM public.variant_stock_leases
+      WHERE variant_id = ANY (?) AND NOT revoked
+      GROUP BY variant_id
+      """;
+  private static final String SELECT_DEPLETED_SQL = """
+      SELECT variant_id
+      FROM public.variant_stock
+      WHERE variant_id = ANY (?) AND stock_quantity = 0
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public StockLeaseStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public Optional<StockLeaseGrant> grant(Long variantId, String nodeId, int quota, int minimumQuantity, Duration ttl) {
+    return jdbcTemplate.query(
+        GRANT_SQL,
+        resultSet -> resultSet.next()
+            ? Optional.of(new StockLeaseGrant(resultSet.getLong(1), resultSet.getInt(2)))
+            : Optional.<StockLeaseGrant>empty(),
+        minimumQuantity,
+        quota,
+        variantId,
+        minimumQuantity,
+        nodeId,
+        ttl.toMillis()
+    );
+  }
+
+  public boolean takeStock(Long variantId, int quantity) {
+    return jdbcTemplate.update(TAKE_STOCK_SQL, quantity, variantId, quantity) == 1;
+  }
+
+  public int currentStock(Long variantId) {
+    return jdbcTemplate.query(SELECT_STOCK_SQL, resultSet -> resultSet.next() ? resultSet.getInt(1) : 0, variantId);
+  }
+
+  public List<Long> renew(Map<Long, Integer> soldQuantityByLease, Duration ttl) {
+    List<Long> leaseIds = new ArrayList<>(soldQuantityByLease.keySet());
+    List<Object[]> arguments = new ArrayList<>(leaseIds.size());
+    leaseIds.forEach(leaseId -> arguments.add(new Object[] {ttl.toMillis(), soldQuantityByLease.get(leaseId), leaseId}));
+    int[] updatedRows = jdbcTemplate.batchUpdate(RENEW_SQL, arguments);
+    List<Long> lostLeaseIds = new ArrayList<>();
+
+    for (int index = 0; index < updatedRows.length; index++) {
+      if (updatedRows[index] == 0) {
+        lostLeaseIds.add(leaseIds.get(index));
+      }
+    }
+
+    return lostLeaseIds;
+  }
+
+  public Map<Long, Integer> sumLeases(Collection<Long> variantIds) {
+    Map<Long, Integer> quantityByVariant = new HashMap<>();
+    jdbcTemplate.query(SUM_LEASES_SQL, resultSet -> {
+      quantityByVariant.put(resultSet.getLong("variant_id"), resultSet.getInt("quantity"));
+    }, (Object) variantIds.toArray(Long[]::new));
+    return quantityByVariant;
+  }
+
+  public List<Long> findDepletedVariantIds(Collection<Long> variantIds) {
+    return jdbcTemplate.queryForList(SELECT_DEPLETED_SQL, Long.class, (Object) variantIds.toArray(Long[]::new));
+  }
+
+  public void returnLease(long leaseId) {
+    jdbcTemplate.update(RETURN_SQL, leaseId);
+  }
+
+  public int reclaimExpired() {
+    return jdbcTemplate.update(RECLAIM_EXPIRED_SQL);
+  }
+
+  public void revokeLeases(Long variantId) {
+    jdbcTemplate.update(REVOKE_SQL, variantId);
+  }
+}
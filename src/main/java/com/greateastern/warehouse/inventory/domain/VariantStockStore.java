@@ -0,0 +1,64 @@
+package com.greateastern.warehouse.inventory.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class VariantStockStore {
+
+  private static final String SELECT_STOCK_SQL =
+      "SELECT variant_id, stock_quantity FROM public.variant_stock WHERE variant_id IN (:ids)";
+  private static final String UPDATE_STOCK_SQL =
+      "UPDATE public.variant_stock SET stock_quantity = ? WHERE variant_id = ?";
+  private static final String COMMITTED_TRANSACTIONS_SQL =
+      "SELECT id FROM unnest(ARRAY[:ids]::bigint[]) AS id WHERE txid_status(id) = 'committed'";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  public VariantStockStore(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+  }
+
+  public Map<Long, Integer> loadStock(Collection<Long> variantIds) {
+    Map<Long, Integer> stockByVariant = new HashMap<>();
+
+    if (variantIds.isEmpty()) {
+      return stockByVariant;
+    }
+
+    namedParameterJdbcTemplate.query(SELECT_STOCK_SQL, Map.of("ids", variantIds), resultSet -> {
+      stockByVariant.put(resultSet.getLong("variant_id"), resultSet.getInt("stock_quantity"));
+    });
+    return stockByVariant;
+  }
+
+  public long currentTransactionId() {
+    return jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+  }
+
+  public Set<Long> findCommittedTransactionIds(Collection<Long> transactionIds) {
+    return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+        COMMITTED_TRANSACTIONS_SQL, Map.of("ids", transactionIds), Long.class));
+  }
+
+  public void writeStock(Map<Long, Integer> stockByVariant) {
+    if (stockByVariant.isEmpty()) {
+      return;
+    }
+
+    List<Object[]> arguments = new ArrayList<>(stockByVariant.size());
+    new TreeMap<>(stockByVariant).forEach((variantId, stockQuantity) -> arguments.add(new Object[] {stockQuantity, variantId}));
+    jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, arguments);
+  }
+}
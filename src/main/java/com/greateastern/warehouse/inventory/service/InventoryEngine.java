@@ -0,0 +1,290 @@
+package com.greateastern.warehouse.inventory.service;
+
+import com.greateastern.warehouse.inventory.domain.InventoryJournal;
+import com.greateastern.warehouse.inventory.domain.VariantStockStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(prefix = "warehouse.sale", name = "stock-mode", havingValue = "partitioned")
+public class InventoryEngine implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(InventoryEngine.class);
+
+  private final VariantStockStore variantStockStore;
+  private final InventoryProperties inventoryProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final List<InventoryPartition> partitions = new ArrayList<>();
+  private final List<Path> unflushedJournalSegments = new ArrayList<>();
+  private ScheduledExecutorService flushScheduler;
+  private volatile boolean running;
+
+  public InventoryEngine(
+      VariantStockStore variantStockStore,
+      InventoryProperties inventoryProperties,
+      PlatformTransactionManager transactionManager
+  ) {
+    this.variantStockStore = variantStockStore;
+    this.inventoryProperties = inventoryProperties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  public void reserve(Map<Long, Integer> quantityByVariant) {
+    InventoryTransaction transaction = currentTransaction();
+    Map<InventoryPartition, Map<Long, Integer>> quantitiesByPartition = groupByPartition(quantityByVariant);
+    Map<InventoryPartition, CompletableFuture<Void>> reservations = new LinkedHashMap<>();
+    quantitiesByPartition.forEach((partition, quantities) -> reservations.put(
+        partition, partition.reserve(transaction.id(), quantities)));
+
+    RuntimeException failure = null;
+    List<InventoryPartition> reservedPartitions = new ArrayList<>();
+
+    for (Map.Entry<InventoryPartition, CompletableFuture<Void>> entry : reservations.entrySet()) {
+      try {
+        entry.getValue().join();
+        reservedPartitions.add(entry.getKey());
+        transaction.partitions().add(entry.getKey());
+      } catch (CompletionException ex) {
+        failure = failure == null ? unwrap(ex) : failure;
+      }
+    }
+
+    if (failure != null) {
+      for (InventoryPartition partition : reservedPartitions) {
+        await(partition.unreserve(transaction.id(), quantitiesByPartition.get(partition)));
+      }
+
+      throw failure;
+    }
+  }
+
+  public void release(Map<Long, Integer> quantityByVariant) {
+    InventoryTransaction transaction = currentTransaction();
+    List<CompletableFuture<Void>> releases = new ArrayList<>();
+    groupByPartition(quantityByVariant).forEach((partition, quantities) -> {
+      transaction.partitions().add(partition);
+      releases.add(partition.release(transaction.id(), quantities));
+    });
+    releases.forEach(this::await);
+  }
+
+  public void overwrite(Long variantId, int stockQuantity) {
+    await(partitionFor(variantId).overwrite(variantId, stockQuantity));
+  }
+
+  public void evict(Long variantId) {
+    await(partitionFor(variantId).evict(variantId));
+  }
+
+  public Optional<Integer> currentStock(Long variantId) {
+    return partitionFor(variantId).currentStock(variantId);
+  }
+
+  public synchronized void flush() {
+    List<InventorySnapshot> snapshots = new ArrayList<>();
+
+    for (InventoryPartition partition : partitions) {
+      snapshots.add(await(partition.snapshot()));
+    }
+
+    Map<Long, Integer> stockByVariant = new HashMap<>();
+
+    for (InventorySnapshot snapshot : snapshots) {
+      stockByVariant.putAll(snapshot.stockByVariant());
+      unflushedJournalSegments.addAll(snapshot.journalSegments());
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> variantStockStore.writeStock(stockByVariant));
+    } catch (RuntimeException ex) {
+      for (InventorySnapshot snapshot : snapshots) {
+        await(partitions.get(snapshot.partitionIndex()).restore(snapshot));
+      }
+
+      throw ex;
+    }
+
+    InventoryJournal.deleteSegments(unflushedJournalSegments);
+    unflushedJournalSegments.clear();
+  }
+
+  @Override
+  public synchronized void start() {
+    recoverJournal();
+
+    for (int index = 0; index < inventoryProperties.partitions(); index++) {
+      partitions.add(new InventoryPartition(
+          index,
+          variantStockStore,
+          inventoryProperties.journalDirectory(),
+          inventoryProperties.journalFsync()
+      ));
+    }
+
+    long flushIntervalMillis = inventoryProperties.flushInterval().toMillis();
+    flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "inventory-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flushScheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    running = true;
+    log.info("Inventory engine started with {} partitions", partitions.size());
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    flushScheduler.shutdown();
+
+    try {
+      flushScheduler.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    flushQuietly();
+    partitions.forEach(InventoryPartition::shutdown);
+    partitions.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void recoverJournal() {
+    List<Path> segments = InventoryJournal.listSegments(inventoryProperties.journalDirectory());
+
+    if (segments.isEmpty()) {
+      return;
+    }
+
+    InventoryJournal.Replay replay = InventoryJournal.replay(segments);
+    Map<Long, Map<Long, Integer>> pendingDeltas = replay.pendingDeltasByTransaction();
+    Set<Long> committedTransactionIds = transactionTemplate.execute(status -> {
+      Set<Long> committedIds = pendingDeltas.isEmpty()
+          ? Set.of()
+          : variantStockStore.findCommittedTransactionIds(pendingDeltas.keySet());
+      Map<Long, Integer> recoveredStock = new HashMap<>(replay.stockByVariant());
+      Map<Long, Integer> committedDeltas = new HashMap<>();
+      committedIds.forEach(transactionId -> pendingDeltas.get(transactionId)
+          .forEach((variantId, delta) -> committedDeltas.merge(variantId, delta, Integer::sum)));
+      List<Long> unjournaledIds = committedDeltas.keySet().stream()
+          .filter(variantId -> !recoveredStock.containsKey(variantId))
+          .toList();
+      recoveredStock.putAll(variantStockStore.loadStock(unjournaledIds));
+      committedDeltas.forEach((variantId, delta) -> recoveredStock.computeIfPresent(
+          variantId, (id, stockQuantity) -> stockQuantity + delta));
+      variantStockStore.writeStock(recoveredStock);
+      return committedIds;
+    });
+    InventoryJournal.deleteSegments(segments);
+    log.info(
+        "Recovered {} variant stock values and {} of {} pending holds from {} journal segments",
+        replay.stockByVariant().size(),
+        committedTransactionIds.size(),
+        pendingDeltas.size(),
+        segments.size()
+    );
+  }
+
+  private InventoryTransaction currentTransaction() {
+    InventoryTransaction transaction = (InventoryTransaction) TransactionSynchronizationManager.getResource(this);
+
+    if (transaction != null) {
+      return transaction;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Inventory holds require an active transaction");
+    }
+
+    InventoryTransaction newTransaction = new InventoryTransaction(
+        variantStockStore.currentTransactionId(), new LinkedHashSet<>());
+    TransactionSynchronizationManager.bindResource(this, newTransaction);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(InventoryEngine.this);
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+
+        for (InventoryPartition partition : newTransaction.partitions()) {
+          completions.add(status == STATUS_COMMITTED
+              ? partition.commit(newTransaction.id())
+              : partition.abort(newTransaction.id()));
+        }
+
+        completions.forEach(InventoryEngine.this::await);
+      }
+    });
+    return newTransaction;
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      log.warn("Inventory flush failed; pending stock will be retried", ex);
+    }
+  }
+
+  private Map<InventoryPartition, Map<Long, Integer>> groupByPartition(Map<Long, Integer> quantityByVariant) {
+    Map<InventoryPartition, Map<Long, Integer>> quantitiesByPartition = new TreeMap<>(
+        (left, right) -> Integer.compare(left.index(), right.index()));
+    quantityByVariant.forEach((variantId, quantity) -> quantitiesByPartition
+        .computeIfAbsent(partitionFor(variantId), partition -> new LinkedHashMap<>())
+        .put(variantId, quantity));
+    return quantitiesByPartition;
+  }
+
+  private InventoryPartition partitionFor(Long variantId) {
+    if (!running) {
+      throw new IllegalStateException("Inventory engine is not running");
+    }
+
+    return partitions.get(Math.floorMod(Long.hashCode(variantId), partitions.size()));
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  private RuntimeException unwrap(CompletionException ex) {
+    return ex.getCause() instanceof RuntimeException cause ? cause : ex;
+  }
+
+  private record InventoryTransaction(long id, Set<InventoryPartition> partitions) {
+  }
+}
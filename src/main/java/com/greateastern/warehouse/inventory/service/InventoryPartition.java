@@ -0,0 +1,264 @@
+package com.greateastern.warehouse.inventory.service;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.inventory.domain.InventoryJournal;
+import com.greateastern.warehouse.inventory.domain.VariantStockStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+final class InventoryPartition {
+
+  private static final long NO_TRANSACTION = 0;
+
+  private final int index;
+  private final VariantStockStore variantStockStore;
+  private final InventoryJournal journal;
+  private final ExecutorService executor;
+  private final Map<Long, Integer> stockByVariant = new ConcurrentHashMap<>();
+  private final Map<Long, Integer> heldByVariant = new HashMap<>();
+  private final Set<Long> dirtyVariantIds = new HashSet<>();
+  private final Map<Long, Map<Long, Integer>> openHolds = new HashMap<>();
+
+  InventoryPartition(int index, VariantStockStore variantStockStore, Path journalDirectory, boolean journalFsync) {
+    this.index = index;
+    this.variantStockStore = variantStockStore;
+    this.journal = new InventoryJournal(journalDirectory, index, journalFsync);
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "inventory-partition-" + index);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  int index() {
+    return index;
+  }
+
+  CompletableFuture<Void> reserve(long transactionId, Map<Long, Integer> quantityByVariant) {
+    return submit(() -> {
+      loadMissing(quantityByVariant.keySet());
+
+      for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+        int available = stockByVariant.get(entry.getKey()) - heldByVariant.getOrDefault(entry.getKey(), 0);
+
+        if (available < entry.getValue()) {
+          throw new BusinessRuleException(
+              "Insufficient stock for variant " + entry.getKey() + ". Available: " + available
+                  + ", requested: " + entry.getValue());
+        }
+      }
+
+      quantityByVariant.forEach((variantId, quantity) -> heldByVariant.merge(variantId, quantity, Integer::sum));
+      hold(transactionId, quantityByVariant, -1);
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> unreserve(long transactionId, Map<Long, Integer> quantityByVariant) {
+    return submit(() -> {
+      quantityByVariant.forEach(this::releaseHold);
+      hold(transactionId, quantityByVariant, 1);
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> release(long transactionId, Map<Long, Integer> quantityByVariant) {
+    return submit(() -> {
+      hold(transactionId, quantityByVariant, 1);
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> commit(long transactionId) {
+    return submit(() -> {
+      Map<Long, Integer> deltaByVariant = openHolds.remove(transactionId);
+
+      if (deltaByVariant == null) {
+        return null;
+      }
+
+      releaseHolds(deltaByVariant);
+      loadAvailable(deltaByVariant.keySet());
+      Map<Long, Integer> updatedStock = new HashMap<>();
+
+      deltaByVariant.forEach((variantId, delta) -> {
+        Integer stockQuantity = stockByVariant.get(variantId);
+
+        if (stockQuantity != null) {
+          updatedStock.put(variantId, stockQuantity + delta);
+        }
+      });
+
+      apply(transactionId, updatedStock);
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> abort(long transactionId) {
+    return submit(() -> {
+      Map<Long, Integer> deltaByVariant = openHolds.remove(transactionId);
+
+      if (deltaByVariant != null) {
+        releaseHolds(deltaByVariant);
+        apply(transactionId, Map.of());
+      }
+
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> overwrite(Long variantId, int stockQuantity) {
+    return submit(() -> {
+      apply(NO_TRANSACTION, Map.of(variantId, stockQuantity));
+      return null;
+    });
+  }
+
+  CompletableFuture<Void> evict(Long variantId) {
+    return submit(() -> {
+      stockByVariant.remove(variantId);
+      heldByVariant.remove(variantId);
+      dirtyVariantIds.remove(variantId);
+      return null;
+    });
+  }
+
+  Optional<Integer> currentStock(Long variantId) {
+    return Optional.ofNullable(stockByVariant.get(variantId));
+  }
+
+  CompletableFuture<InventorySnapshot> snapshot() {
+    return submit(() -> {
+      Map<Long, Integer> dirtyStock = new HashMap<>();
+
+      for (Long variantId : dirtyVariantIds) {
+        dirtyStock.put(variantId, stockByVariant.get(variantId));
+      }
+
+      dirtyVariantIds.clear();
+      Path sealedSegment = journal.rotate();
+
+      if (!openHolds.isEmpty()) {
+        openHolds.forEach(journal::appendHold);
+        journal.commit();
+      }
+
+      List<Path> segments = sealedSegment == null ? List.of() : List.of(sealedSegment);
+      return new InventorySnapshot(index, dirtyStock, segments);
+    });
+  }
+
+  CompletableFuture<Void> restore(InventorySnapshot snapshot) {
+    return submit(() -> {
+      for (Long variantId : snapshot.stockByVariant().keySet()) {
+        if (stockByVariant.containsKey(variantId)) {
+          dirtyVariantIds.add(variantId);
+        }
+      }
+
+      return null;
+    });
+  }
+
+  void shutdown() {
+    executor.shutdown();
+
+    try {
+      if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    journal.close();
+  }
+
+  private void loadMissing(Set<Long> variantIds) {
+    List<Long> missingIds = new ArrayList<>();
+
+    for (Long variantId : variantIds) {
+      if (!stockByVariant.containsKey(variantId)) {
+        missingIds.add(variantId);
+      }
+    }
+
+    if (missingIds.isEmpty()) {
+      return;
+    }
+
+    Map<Long, Integer> loadedStock = variantStockStore.loadStock(missingIds);
+
+    for (Long variantId : missingIds) {
+      Integer stockQuantity = loadedStock.get(variantId);
+
+      if (stockQuantity == null) {
+        throw new ResourceNotFoundException("Variant with id " + variantId + " was not found");
+      }
+
+      stockByVariant.put(variantId, stockQuantity);
+    }
+  }
+
+  private void loadAvailable(Set<Long> variantIds) {
+    List<Long> missingIds = variantIds.stream().filter(variantId -> !stockByVariant.containsKey(variantId)).toList();
+
+    if (!missingIds.isEmpty()) {
+      stockByVariant.putAll(variantStockStore.loadStock(missingIds));
+    }
+  }
+
+  private void hold(long transactionId, Map<Long, Integer> quantityByVariant, int sign) {
+    Map<Long, Integer> deltaByVariant = openHolds.computeIfAbsent(transactionId, id -> new HashMap<>());
+    quantityByVariant.forEach((variantId, quantity) -> deltaByVariant.merge(
+        variantId, sign * quantity, (current, change) -> current + change == 0 ? null : current + change));
+
+    if (deltaByVariant.isEmpty()) {
+      openHolds.remove(transactionId);
+    }
+
+    journal.appendHold(transactionId, deltaByVariant);
+    journal.commit();
+  }
+
+  private void releaseHolds(Map<Long, Integer> deltaByVariant) {
+    deltaByVariant.forEach((variantId, delta) -> {
+      if (delta < 0) {
+        releaseHold(variantId, -delta);
+      }
+    });
+  }
+
+  private void releaseHold(Long variantId, int quantity) {
+    heldByVariant.computeIfPresent(variantId, (id, held) -> held > quantity ? held - quantity : null);
+  }
+
+  private void apply(long transactionId, Map<Long, Integer> updatedStock) {
+    if (updatedStock.isEmpty() && transactionId == NO_TRANSACTION) {
+      return;
+    }
+
+    journal.appendApply(transactionId, updatedStock);
+    journal.commit();
+    stockByVariant.putAll(updatedStock);
+    dirtyVariantIds.addAll(updatedStock.keySet());
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, executor);
+  }
+}
@@ -0,0 +1,33 @@
+package com.greateastern.warehouse.inventory.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "warehouse.inventory")
+public record InventoryProperties(
+    @DefaultValue("8") int partitions,
+    @DefaultValue("data/inventory-journal") Path journalDirectory,
+    @DefaultValue("true") boolean journalFsync,
+    @DefaultValue("200ms") Duration flushInterval,
+    @DefaultValue Striping striping,
+    @DefaultValue Leasing leasing
+) {
+
+  public record Striping(
+      @DefaultValue("8") int buckets,
+      @DefaultValue("50") int hotThreshold,
+      @DefaultValue("5s") Duration detectionInterval,
+      @DefaultValue("12") int coldIntervals
+  ) {
+  }
+
+  public record Leasing(
+      @DefaultValue("") String nodeId,
+      @DefaultValue("50") int quota,
+      @DefaultValue("30s") Duration ttl,
+      @DefaultValue("10s") Duration renewInterval
+  ) {
+  }
+}
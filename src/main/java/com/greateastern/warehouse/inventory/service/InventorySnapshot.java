@@ -0,0 +1,8 @@
+package com.greateastern.warehouse.inventory.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+record InventorySnapshot(int partitionIndex, Map<Long, Integer> stockByVariant, List<Path> journalSegments) {
+}
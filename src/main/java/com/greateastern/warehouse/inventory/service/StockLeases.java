@@ -0,0 +1,362 @@
+package com.greateastern.warehouse.inventory.service;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.inventory.domain.StockLeaseGrant;
+import com.greateastern.warehouse.inventory.domain.StockLeaseStore;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@ConditionalOnProperty(prefix = "warehouse.sale", name = "stock-mode", havingValue = "leased")
+public class StockLeases implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(StockLeases.class);
+
+  private final StockLeaseStore stockLeaseStore;
+  private final InventoryProperties.Leasing leasing;
+  private final String nodeId;
+  private final Map<Long, Lease> leasesByVariant = new ConcurrentHashMap<>();
+  private ScheduledExecutorService renewalScheduler;
+  private volatile boolean running;
+
+  public StockLeases(StockLeaseStore stockLeaseStore, InventoryProperties inventoryProperties) {
+    this.stockLeaseStore = stockLeaseStore;
+    this.leasing = inventoryProperties.leasing();
+    this.nodeId = resolveNodeId(leasing.nodeId());
+  }
+
+  public Map<Long, Long> reserve(Map<Long, Integer> quantityByVariant) {
+    Map<Long, Long> leaseIdByVariant = new LinkedHashMap<>();
+    List<Lease> enteredLeases = new ArrayList<>();
+    List<LeaseTake> takes = new ArrayList<>();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        takes.forEach(take -> settle(take, status == STATUS_COMMITTED));
+        enteredLeases.forEach(Lease::exit);
+      }
+    });
+
+    for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantityByVariant).entrySet()) {
+      Long variantId = entry.getKey();
+      int quantity = entry.getValue();
+      Lease lease = leasesByVariant.get(variantId);
+
+      if (lease != null && !lease.enter()) {
+        if (!stockLeaseStore.takeStock(variantId, quantity)) {
+          throw new BusinessRuleException("Insufficient stock for variant " + variantId + " while its lease is being returned. "
+              + "Available: " + stockLeaseStore.currentStock(variantId) + ", requested: " + quantity);
+        }
+
+        continue;
+      }
+
+      if (lease != null) {
+        enteredLeases.add(lease);
+
+        if (lease.tryTake(quantity)) {
+          takes.add(new LeaseTake(variantId, lease, lease.leaseId(), quantity, quantity, 0));
+          leaseIdByVariant.put(variantId, lease.leaseId());
+          continue;
+        }
+      }
+
+      StockLeaseGrant grant = stockLeaseStore.grant(variantId, nodeId, leasing.quota(), quantity, leasing.ttl())
+          .orElseThrow(() -> new BusinessRuleException("Insufficient stock for variant " + variantId + ". "
+              + "Left on this node's lease: " + (lease == null ? 0 : lease.remaining())
+              + ", available to lease: " + stockLeaseStore.currentStock(variantId) + ", requested: " + quantity));
+      takes.add(new LeaseTake(variantId, lease, grant.leaseId(), quantity, 0, grant.quantity() - quantity));
+      leaseIdByVariant.put(variantId, grant.leaseId());
+    }
+
+    return leaseIdByVariant;
+  }
+
+  public void revoke(Long variantId) {
+    stockLeaseStore.revokeLeases(variantId);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        Lease lease = leasesByVariant.get(variantId);
+
+        if (lease != null) {
+          lease.retire();
+        }
+      }
+    });
+  }
+
+  public Map<Long, Integer> leasedStock(Collection<Long> variantIds) {
+    return stockLeaseStore.sumLeases(variantIds);
+  }
+
+  @Override
+  public synchronized void start() {
+    stockLeaseStore.reclaimExpired();
+    renewalScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "stock-lease-renewal");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = leasing.renewInterval().toMillis();
+    renewalScheduler.scheduleWithFixedDelay(this::renewQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    running = true;
+    log.info("Stock leases started for node {} with a quota of {} units", nodeId, leasing.quota());
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    renewalScheduler.shutdown();
+
+    try {
+      renewalScheduler.awaitTermination(30, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    leasesByVariant.forEach((variantId, lease) -> {
+      try {
+        returnLease(variantId, lease);
+      } catch (RuntimeException ex) {
+        log.warn("Failed to return stock lease for variant {} on shutdown", variantId, ex);
+      }
+    });
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return DEFAULT_PHASE - 4096;
+  }
+
+  private void settle(LeaseTake take, boolean committed) {
+    if (!committed) {
+      if (take.takenQuantity() > 0) {
+        take.lease().add(take.takenQuantity());
+      }
+
+      return;
+    }
+
+    Lease lease = take.lease() != null
+        ? take.lease()
+        : leasesByVariant.computeIfAbsent(take.variantId(), ignored -> new Lease(take.leaseId(), leaseValidUntil()));
+
+    if (lease.leaseId() == take.leaseId()) {
+      lease.sell(take.soldQuantity(), take.surplusQuantity());
+    }
+  }
+
+  private void returnLease(Long variantId, Lease lease) {
+    lease.retire();
+
+    if (!lease.awaitIdle(leasing.renewInterval())) {
+      log.warn("Sales on the stock lease for variant {} are still running; it will be returned later", variantId);
+      return;
+    }
+
+    stockLeaseStore.returnLease(lease.leaseId());
+    leasesByVariant.remove(variantId, lease);
+  }
+
+  private long leaseValidUntil() {
+    return System.nanoTime() + leasing.ttl().toNanos() - leasing.renewInterval().toNanos();
+  }
+
+  private void renew() {
+    long validUntil = leaseValidUntil();
+    long idleBefore = System.nanoTime() - leasing.ttl().toNanos();
+    Map<Long, Lease> activeLeases = new HashMap<>();
+    Map<Long, Lease> returnedLeases = new HashMap<>();
+
+    leasesByVariant.forEach((variantId, lease) -> {
+      if (lease.isRetired() || lease.lastTakenAt() < idleBefore) {
+        returnedLeases.put(variantId, lease);
+      } else {
+        activeLeases.put(variantId, lease);
+      }
+    });
+
+    if (!activeLeases.isEmpty()) {
+      stockLeaseStore.findDepletedVariantIds(activeLeases.keySet())
+          .forEach(variantId -> returnedLeases.put(variantId, activeLeases.remove(variantId)));
+    }
+
+    if (!activeLeases.isEmpty()) {
+      Map<Long, Integer> soldQuantityByLease = new HashMap<>();
+      Map<Long, Long> variantIdByLease = new HashMap<>();
+      activeLeases.forEach((variantId, lease) -> {
+        soldQuantityByLease.put(lease.leaseId(), lease.soldQuantity());
+        variantIdByLease.put(lease.leaseId(), variantId);
+      });
+
+      for (Long leaseId : stockLeaseStore.renew(soldQuantityByLease, leasing.ttl())) {
+        Long variantId = variantIdByLease.get(leaseId);
+        log.warn("Stock lease for variant {} was revoked or lost; returning it", variantId);
+        returnedLeases.put(variantId, activeLeases.remove(variantId));
+      }
+
+      activeLeases.values().forEach(lease -> lease.extend(validUntil));
+    }
+
+    returnedLeases.forEach(this::returnLease);
+    int reclaimed = stockLeaseStore.reclaimExpired();
+
+    if (reclaimed > 0) {
+      log.info("Reclaimed expired stock leases of other nodes for {} variants", reclaimed);
+    }
+  }
+
+  private void renewQuietly() {
+    try {
+      renew();
+    } catch (RuntimeException ex) {
+      log.warn("Stock lease renewal failed; it will be retried", ex);
+    }
+  }
+
+  private static String resolveNodeId(String configuredNodeId) {
+    if (configuredNodeId != null && !configuredNodeId.isBlank()) {
+      return configuredNodeId;
+    }
+
+    try {
+      return InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid();
+    } catch (UnknownHostException ex) {
+      return "node-" + ProcessHandle.current().pid();
+    }
+  }
+
+  private record LeaseTake(
+      Long variantId,
+      Lease lease,
+      long leaseId,
+      int soldQuantity,
+      int takenQuantity,
+      int surplusQuantity
+  ) {
+  }
+
+  private static final class Lease {
+
+    private final long leaseId;
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicInteger sold = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean retired;
+    private volatile long validUntil;
+    private volatile long lastTakenAt = System.nanoTime();
+
+    Lease(long leaseId, long validUntil) {
+      this.leaseId = leaseId;
+      this.validUntil = validUntil;
+    }
+
+    long leaseId() {
+      return leaseId;
+    }
+
+    boolean enter() {
+      inFlight.incrementAndGet();
+
+      if (retired || System.nanoTime() - validUntil > 0) {
+        inFlight.decrementAndGet();
+        return false;
+      }
+
+      lastTakenAt = System.nanoTime();
+      return true;
+    }
+
+    void exit() {
+      inFlight.decrementAndGet();
+    }
+
+    boolean tryTake(int quantity) {
+      while (true) {
+        int current = remaining.get();
+
+        if (current < quantity) {
+          return false;
+        }
+
+        if (remaining.compareAndSet(current, current - quantity)) {
+          return true;
+        }
+      }
+    }
+
+    int remaining() {
+      return remaining.get();
+    }
+
+    void add(int quantity) {
+      remaining.addAndGet(quantity);
+    }
+
+    void sell(int soldQuantity, int surplusQuantity) {
+      sold.addAndGet(soldQuantity);
+      remaining.addAndGet(surplusQuantity);
+    }
+
+    int soldQuantity() {
+      return sold.get();
+    }
+
+    void extend(long validUntil) {
+      this.validUntil = validUntil;
+    }
+
+    void retire() {
+      retired = true;
+    }
+
+    boolean isRetired() {
+      return retired;
+    }
+
+    boolean awaitIdle(Duration timeout) {
+      long deadline = System.nanoTime() + timeout.toNanos();
+
+      while (inFlight.get() > 0) {
+        if (System.nanoTime() - deadline > 0) {
+          return false;
+        }
+
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+
+      return true;
+    }
+
+    long lastTakenAt() {
+      return lastTakenAt;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package com.greateastern.warehouse.inventory.service;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.inventory.domain.StockBucketStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(prefix = "warehouse.sale", name = "stock-mode", havingValue = "striped")
+public class StripedStock implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(StripedStock.class);
+  private static final int HOME = -1;
+
+  private final StockBucketStore stockBucketStore;
+  private final InventoryProperties.Striping striping;
+  private final TransactionTemplate transactionTemplate;
+  private final Set<Long> stripedVariants = ConcurrentHashMap.newKeySet();
+  private final Map<Long, LongAdder> salesByVariant = new ConcurrentHashMap<>();
+  private final Map<Long, Integer> coldIntervalsByVariant = new HashMap<>();
+  private ScheduledExecutorService rebalanceScheduler;
+  private volatile boolean running;
+
+  public StripedStock(
+      StockBucketStore stockBucketStore,
+      InventoryProperties inventoryProperties,
+      PlatformTransactionManager transactionManager
+  ) {
+    this.stockBucketStore = stockBucketStore;
+    this.striping = inventoryProperties.striping();
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  public void reserve(Map<Long, Integer> quantityByVariant) {
+    List<StockTake> takes = new ArrayList<>();
+
+    for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantityByVariant).entrySet()) {
+      Long variantId = entry.getKey();
+      int quantity = entry.getValue();
+      salesByVariant.computeIfAbsent(variantId, ignored -> new LongAdder()).increment();
+
+      try {
+        takes.addAll(take(variantId, quantity));
+      } catch (RuntimeException ex) {
+        release(takes);
+        throw ex;
+      }
+    }
+  }
+
+  public void resetStock(Long variantId) {
+    stockBucketStore.deleteBuckets(variantId);
+    stripedVariants.remove(variantId);
+  }
+
+  public Map<Long, Integer> bucketStock(Collection<Long> variantIds) {
+    return stockBucketStore.sumBuckets(variantIds);
+  }
+
+  @Override
+  public synchronized void start() {
+    refreshStripedVariants();
+    rebalanceScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "striped-stock-rebalance");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = striping.detectionInterval().toMillis();
+    rebalanceScheduler.scheduleWithFixedDelay(this::rebalanceQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    running = true;
+    log.info("Striped stock started with {} buckets and {} striped variants", striping.buckets(), stripedVariants.size());
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    rebalanceScheduler.shutdown();
+
+    try {
+      rebalanceScheduler.awaitTermination(30, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    for (Long variantId : List.copyOf(stripedVariants)) {
+      try {
+        fold(variantId);
+      } catch (RuntimeException ex) {
+        log.warn("Failed to fold striped variant {} on shutdown", variantId, ex);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return DEFAULT_PHASE - 4096;
+  }
+
+  private List<StockTake> take(Long variantId, int quantity) {
+    if (stripedVariants.contains(variantId)) {
+      int firstBucket = ThreadLocalRandom.current().nextInt(striping.buckets());
+
+      for (int offset = 0; offset < striping.buckets(); offset++) {
+        int bucket = (firstBucket + offset) % striping.buckets();
+
+        if (stockBucketStore.takeFromBucket(variantId, bucket, quantity)) {
+          return List.of(new StockTake(variantId, bucket, quantity));
+        }
+      }
+    }
+
+    if (stockBucketStore.takeFromHome(variantId, quantity)) {
+      return List.of(new StockTake(variantId, HOME, quantity));
+    }
+
+    return takeAcrossBuckets(variantId, quantity);
+  }
+
+  private List<StockTake> takeAcrossBuckets(Long variantId, int quantity) {
+    Integer homeStock = stockBucketStore.lockHome(variantId);
+
+    if (homeStock == null) {
+      throw new ResourceNotFoundException("Variant with id " + variantId + " was not found");
+    }
+
+    if (!stockBucketStore.isSellable(variantId)) {
+      throw new BusinessRuleException("Variant " + variantId + " or its item is inactive and cannot be sold");
+    }
+
+    Map<Integer, Integer> stockByBucket = new TreeMap<>(stockBucketStore.lockBuckets(variantId));
+    stockByBucket.put(HOME, homeStock);
+    int availableQuantity = stockByBucket.values().stream().mapToInt(Integer::intValue).sum();
+
+    if (availableQuantity < quantity) {
+      throw new BusinessRuleException(
+          "Insufficient stock for variant " + variantId + ". Available: " + availableQuantity + ", requested: " + quantity);
+    }
+
+    List<StockTake> takes = new ArrayList<>();
+    int remaining = quantity;
+
+    for (Map.Entry<Integer, Integer> entry : stockByBucket.entrySet()) {
+      int taken = Math.min(entry.getValue(), remaining);
+
+      if (taken > 0) {
+        takes.add(new StockTake(variantId, entry.getKey(), taken));
+        remaining -= taken;
+      }
+    }
+
+    for (StockTake take : takes) {
+      if (take.bucket() == HOME) {
+        stockBucketStore.writeHome(variantId, homeStock - take.quantity());
+      } else {
+        stockBucketStore.addToBucket(variantId, take.bucket(), -take.quantity());
+      }
+    }
+
+    return takes;
+  }
+
+  private void release(Collection<StockTake> takes) {
+    for (StockTake take : takes) {
+      if (take.bucket() == HOME) {
+        stockBucketStore.addToHome(take.variantId(), take.quantity());
+      } else {
+        stockBucketStore.addToBucket(take.variantId(), take.bucket(), take.quantity());
+      }
+    }
+  }
+
+  private boolean isUnbalanced(Long variantId) {
+    Integer homeStock = stockBucketStore.loadHome(variantId);
+    Map<Integer, Integer> stockByBucket = stockBucketStore.loadBuckets(variantId);
+
+    if (homeStock == null || stockByBucket.size() != striping.buckets() || homeStock > 0) {
+      return true;
+    }
+
+    int total = stockByBucket.values().stream().mapToInt(Integer::intValue).sum();
+    int smallest = stockByBucket.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+    int largest = stockByBucket.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    return largest - smallest > Math.max(1, total / (2 * striping.buckets()));
+  }
+
+  private void redistribute(Long variantId) {
+    transactionTemplate.executeWithoutResult(status -> {
+      Integer homeStock = stockBucketStore.lockHome(variantId);
+
+      if (homeStock == null) {
+        return;
+      }
+
+      Map<Integer, Integer> stockByBucket = stockBucketStore.lockBuckets(variantId);
+      int total = homeStock + stockByBucket.values().stream().mapToInt(Integer::intValue).sum();
+      Map<Integer, Integer> balancedStock = new TreeMap<>();
+
+      for (int bucket = 0; bucket < striping.buckets(); bucket++) {
+        balancedStock.put(bucket, total / striping.buckets() + (bucket < total % striping.buckets() ? 1 : 0));
+      }
+
+      stockBucketStore.writeHome(variantId, 0);
+      stockBucketStore.writeBuckets(variantId, balancedStock);
+      stockBucketStore.deleteBucketsFrom(variantId, striping.buckets());
+    });
+    stripedVariants.add(variantId);
+  }
+
+  private void fold(Long variantId) {
+    transactionTemplate.executeWithoutResult(status -> {
+      Integer homeStock = stockBucketStore.lockHome(variantId);
+
+      if (homeStock == null) {
+        return;
+      }
+
+      Map<Integer, Integer> stockByBucket = stockBucketStore.lockBuckets(variantId);
+      stockBucketStore.writeHome(variantId, homeStock + stockByBucket.values().stream().mapToInt(Integer::intValue).sum());
+      stockBucketStore.deleteBuckets(variantId);
+    });
+    stripedVariants.remove(variantId);
+    coldIntervalsByVariant.remove(variantId);
+  }
+
+  private Map<Long, Long> drainSales() {
+    Map<Long, Long> salesSnapshot = new HashMap<>();
+
+    for (Long variantId : List.copyOf(salesByVariant.keySet())) {
+      LongAdder sales = salesByVariant.remove(variantId);
+
+      if (sales != null) {
+        salesSnapshot.put(variantId, sales.sum());
+      }
+    }
+
+    return salesSnapshot;
+  }
+
+  private void refreshStripedVariants() {
+    List<Long> stripedVariantIds = stockBucketStore.findStripedVariantIds();
+    stripedVariants.retainAll(stripedVariantIds);
+    stripedVariants.addAll(stripedVariantIds);
+  }
+
+  private void rebalance() {
+    Map<Long, Long> salesSnapshot = drainSales();
+    refreshStripedVariants();
+
+    salesSnapshot.forEach((variantId, sales) -> {
+      if (sales >= striping.hotThreshold() && !stripedVariants.contains(variantId)) {
+        redistribute(variantId);
+        log.info("Striped hot variant {} across {} stock buckets after {} sales", variantId, striping.buckets(), sales);
+      }
+    });
+
+    for (Long variantId : List.copyOf(stripedVariants)) {
+      if (salesSnapshot.getOrDefault(variantId, 0L) >= striping.hotThreshold()) {
+        coldIntervalsByVariant.remove(variantId);
+      } else if (coldIntervalsByVariant.merge(variantId, 1, Integer::sum) >= striping.coldIntervals()) {
+        fold(variantId);
+        log.info("Folded cold variant {} back into a single stock row", variantId);
+        continue;
+      }
+
+      if (isUnbalanced(variantId)) {
+        redistribute(variantId);
+      }
+    }
+  }
+
+  private void rebalanceQuietly() {
+    try {
+      rebalance();
+    } catch (RuntimeException ex) {
+      log.warn("Striped stock rebalance failed; it will be retried", ex);
+    }
+  }
+
+  private record StockTake(Long variantId, int bucket, int quantity) {
+  }
+}
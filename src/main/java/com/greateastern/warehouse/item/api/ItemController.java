@@ -2,6 +2,7 @@ package com.greateastern.warehouse.item.api;
 
 import com.greateastern.warehouse.common.api.ApiResponse;
 import com.greateastern.warehouse.common.api.ApiResponses;
+import com.greateastern.warehouse.common.api.CursorPage;
 import com.greateastern.warehouse.item.api.dto.CreateItemRequest;
 import com.greateastern.warehouse.item.api.dto.ItemResponse;
 import com.greateastern.warehouse.item.api.dto.UpdateItemRequest;
@@ -106,7 +107,8 @@ public class ItemController {
             \"updatedAt\": \"2026-02-24T07:00:00Z\",
             \"variantCount\": 2
           }
-        ]
+        ],
+        \"nextCursor\": \"MjAyNi0wMi0yNFQwNzowMDowMFp8MTAwMQ\"
       }
       """;
 
@@ -152,6 +154,15 @@ public class ItemController {
               description = "When true, returns only active items",
               schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "true"),
               example = "true"
+          ),
+          @Parameter(
+              name = "cursor",
+              description = "Opaque nextCursor of the previous page; omit for the first page"
+          ),
+          @Parameter(
+              name = "limit",
+              description = "Page size; defaults to warehouse.pagination.default-page-size and is capped at max-page-size",
+              example = "50"
           )
       },
       responses = {
@@ -162,8 +173,12 @@ public class ItemController {
           )
       }
   )
-  public ResponseEntity<ApiResponse<List<ItemResponse>>> findAll(@RequestParam(defaultValue = "true") boolean activeOnly) {
-    List<ItemResponse> response = itemService.findAll(activeOnly);
+  public ResponseEntity<ApiResponse<List<ItemResponse>>> findAll(
+      @RequestParam(defaultValue = "true") boolean activeOnly,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit
+  ) {
+    CursorPage<ItemResponse> response = itemService.findAll(activeOnly, cursor, limit);
     return ResponseEntity.ok(ApiResponses.success("Items retrieved successfully", response));
   }
 
@@ -1,9 +1,38 @@
 package com.greateastern.warehouse.item.domain;
 
+import com.greateastern.warehouse.item.api.dto.ItemResponse;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-  List<Item> findAllByActiveOrderByCreatedAtDesc(boolean active);
+  String ITEM_RESPONSE_SELECT = """
+      select new com.greateastern.warehouse.item.api.dto.ItemResponse(
+          item.id, item.name, item.description, item.active, item.createdAt, item.updatedAt,
+          cast((select count(variant.id) from ItemVariant variant where variant.item = item) as Integer))
+      from Item item
+      """;
+
+  @Query(ITEM_RESPONSE_SELECT + """
+      where (:activeOnly = false or item.active = true)
+        and (item.createdAt, item.id) < (:createdAt, :id)
+      order by item.createdAt desc, item.id desc
+      """)
+  List<ItemResponse> findResponsePage(
+      @Param("activeOnly") boolean activeOnly,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") Long id,
+      Limit limit
+  );
+
+  @Query(ITEM_RESPONSE_SELECT + "where item.id = :id")
+  Optional<ItemResponse> findResponseById(@Param("id") Long id);
+
+  @Query("select count(variant.id) from ItemVariant variant where variant.item.id = :itemId")
+  long countVariantsByItemId(@Param("itemId") Long itemId);
 }
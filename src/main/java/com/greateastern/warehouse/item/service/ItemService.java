@@ -1,12 +1,15 @@
 package com.greateastern.warehouse.item.service;
 
+import com.greateastern.warehouse.common.api.CursorPage;
+import com.greateastern.warehouse.common.api.PageCursor;
+import com.greateastern.warehouse.common.api.PaginationProperties;
 import com.greateastern.warehouse.common.error.ResourceNotFoundException;
 import com.greateastern.warehouse.item.api.dto.CreateItemRequest;
 import com.greateastern.warehouse.item.api.dto.ItemResponse;
 import com.greateastern.warehouse.item.api.dto.UpdateItemRequest;
 import com.greateastern.warehouse.item.domain.Item;
 import com.greateastern.warehouse.item.domain.ItemRepository;
-import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,34 +18,40 @@ import org.springframework.transaction.annotation.Transactional;
 public class ItemService {
 
   private final ItemRepository itemRepository;
+  private final PaginationProperties paginationProperties;
 
-  public ItemService(ItemRepository itemRepository) {
+  public ItemService(ItemRepository itemRepository, PaginationProperties paginationProperties) {
     this.itemRepository = itemRepository;
+    this.paginationProperties = paginationProperties;
   }
 
   @Transactional
   public ItemResponse create(CreateItemRequest request) {
     Item item = new Item(request.name().trim(), request.description().trim(), toActive(request.active()));
     Item savedItem = itemRepository.save(item);
-    return toResponse(savedItem);
+    return toResponse(savedItem, 0);
   }
 
-  public List<ItemResponse> findAll(boolean activeOnly) {
-    List<Item> items = activeOnly
-        ? itemRepository.findAllByActiveOrderByCreatedAtDesc(true)
-        : itemRepository.findAll();
-    return items.stream().map(this::toResponse).toList();
+  public CursorPage<ItemResponse> findAll(boolean activeOnly, String cursor, Integer limit) {
+    PageCursor pageCursor = PageCursor.decode(cursor);
+    int pageSize = paginationProperties.resolvePageSize(limit);
+    return CursorPage.of(
+        itemRepository.findResponsePage(activeOnly, pageCursor.createdAt(), pageCursor.id(), Limit.of(pageSize + 1)),
+        pageSize,
+        item -> new PageCursor(item.createdAt(), item.id())
+    );
   }
 
   public ItemResponse findById(Long itemId) {
-    return toResponse(getItemEntity(itemId));
+    return itemRepository.findResponseById(itemId)
+        .orElseThrow(() -> new ResourceNotFoundException("Item with id " + itemId + " was not found"));
   }
 
   @Transactional
   public ItemResponse update(Long itemId, UpdateItemRequest request) {
     Item item = getItemEntity(itemId);
     item.update(request.name().trim(), request.description().trim(), toActive(request.active()));
-    return toResponse(item);
+    return toResponse(item, itemRepository.countVariantsByItemId(itemId));
   }
 
   @Transactional
@@ -51,12 +60,18 @@ public class ItemService {
     itemRepository.delete(item);
   }
 
+  public void ensureItemExists(Long itemId) {
+    if (!itemRepository.existsById(itemId)) {
+      throw new ResourceNotFoundException("Item with id " + itemId + " was not found");
+    }
+  }
+
   public Item getItemEntity(Long itemId) {
     return itemRepository.findById(itemId)
         .orElseThrow(() -> new ResourceNotFoundException("Item with id " + itemId + " was not found"));
   }
 
-  private ItemResponse toResponse(Item item) {
+  private ItemResponse toResponse(Item item, long variantCount) {
     return new ItemResponse(
         item.getId(),
         item.getName(),
@@ -64,7 +79,7 @@ public class ItemService {
         item.isActive(),
         item.getCreatedAt(),
         item.getUpdatedAt(),
-        item.getVariants().size()
+        Math.toIntExact(variantCount)
     );
   }
 
@@ -0,0 +1,206 @@
+package com.greateastern.warehouse.reservation.api;
+
+import com.greateastern.warehouse.common.api.ApiResponse;
+import com.greateastern.warehouse.common.api.ApiResponses;
+import com.greateastern.warehouse.reservation.api.dto.CreateReservationRequest;
+import com.greateastern.warehouse.reservation.api.dto.ReservationResponse;
+import com.greateastern.warehouse.reservation.service.ReservationService;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+  private static final String CREATE_RESERVATION_EXAMPLE = """
+      {
+        \"reference\": \"\",
+        \"lines\": [
+          {
+            \"variantId\": 2001,
+            \"quantity\": 1
+          }
+        ]
+      }
+      """;
+
+  private static final String RESERVATION_CREATE_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Reservation created successfully\",
+        \"data\": {
+          \"id\": 6001,
+          \"status\": \"HELD\",
+          \"reference\": \"\",
+          \"expiresAt\": \"2026-02-24T07:15:00Z\",
+          \"lines\": [
+            {
+              \"variantId\": 2001,
+              \"quantity\": 1
+            }
+          ],
+          \"createdAt\": \"2026-02-24T07:05:00Z\",
+          \"updatedAt\": \"2026-02-24T07:05:00Z\"
+        }
+      }
+      """;
+
+  private static final String RESERVATION_SINGLE_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Reservation retrieved successfully\",
+        \"data\": {
+          \"id\": 6001,
+          \"status\": \"CONFIRMED\",
+          \"reference\": \"\",
+          \"expiresAt\": \"2026-02-24T07:15:00Z\",
+          \"saleId\": 3002,
+          \"lines\": [
+            {
+              \"variantId\": 2001,
+              \"quantity\": 1
+            }
+          ],
+          \"createdAt\": \"2026-02-24T07:05:00Z\",
+          \"updatedAt\": \"2026-02-24T07:06:00Z\"
+        }
+      }
+      """;
+
+  private static final String RESERVATION_CONFIRM_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Reservation confirmed successfully\",
+        \"data\": {
+          \"id\": 3002,
+          \"reference\": \"SALE-0A8MMYT2EPW00\",
+          \"totalAmount\": 129.90,
+          \"createdAt\": \"2026-02-24T07:06:00Z\",
+          \"lines\": [
+            {
+              \"id\": 4002,
+              \"variantId\": 2001,
+              \"sku\": \"MIG-SEED-A-RED-42\",
+              \"variantName\": \"Seed Variant A Red 42\",
+              \"quantity\": 1,
+              \"unitPrice\": 129.90,
+              \"lineTotal\": 129.90
+            }
+          ]
+        }
+      }
+      """;
+
+  private static final String RESERVATION_CANCEL_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Reservation cancelled successfully\",
+        \"data\": {
+          \"id\": 6001,
+          \"status\": \"CANCELLED\",
+          \"reference\": \"\",
+          \"expiresAt\": \"2026-02-24T07:15:00Z\",
+          \"lines\": [
+            {
+              \"variantId\": 2001,
+              \"quantity\": 1
+            }
+          ],
+          \"createdAt\": \"2026-02-24T07:05:00Z\",
+          \"updatedAt\": \"2026-02-24T07:06:00Z\"
+        }
+      }
+      """;
+
+  private final ReservationService reservationService;
+
+  public ReservationController(ReservationService reservationService) {
+    this.reservationService = reservationService;
+  }
+
+  @PostMapping
+  @Operation(
+      summary = "Reserve stock",
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          content = @Content(mediaType = "application/json", examples = @ExampleObject(value = CREATE_RESERVATION_EXAMPLE))
+      ),
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "201",
+              description = "Stock reserved until expiresAt",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = RESERVATION_CREATE_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<ReservationResponse>> create(@Valid @RequestBody CreateReservationRequest request) {
+    ReservationResponse response = reservationService.create(request);
+    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponses.success("Reservation created successfully", response));
+  }
+
+  @GetMapping("/{reservationId}")
+  @Operation(
+      summary = "Get reservation by id",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Reservation retrieved",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = RESERVATION_SINGLE_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<ReservationResponse>> findById(
+      @Parameter(example = "6001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "6001")) @PathVariable Long reservationId
+  ) {
+    ReservationResponse response = reservationService.findById(reservationId);
+    return ResponseEntity.ok(ApiResponses.success("Reservation retrieved successfully", response));
+  }
+
+  @PostMapping("/{reservationId}/confirm")
+  @Operation(
+      summary = "Confirm reservation into a sale",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "201",
+              description = "Sale created from the reserved stock",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = RESERVATION_CONFIRM_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<SaleResponse>> confirm(
+      @Parameter(example = "6001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "6001")) @PathVariable Long reservationId
+  ) {
+    SaleResponse response = reservationService.confirm(reservationId);
+    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponses.success("Reservation confirmed successfully", response));
+  }
+
+  @PostMapping("/{reservationId}/cancel")
+  @Operation(
+      summary = "Cancel reservation",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Reservation cancelled and its stock released",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = RESERVATION_CANCEL_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<ReservationResponse>> cancel(
+      @Parameter(example = "6001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "6001")) @PathVariable Long reservationId
+  ) {
+    ReservationResponse response = reservationService.cancel(reservationId);
+    return ResponseEntity.ok(ApiResponses.success("Reservation cancelled successfully", response));
+  }
+}
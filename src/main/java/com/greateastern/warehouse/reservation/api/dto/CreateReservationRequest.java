@@ -0,0 +1,20 @@
+package com.greateastern.warehouse.reservation.api.dto;
+
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Schema(name = "CreateReservationRequest")
+public record CreateReservationRequest(
+    @Schema(example = "", defaultValue = "")
+    String reference,
+    @Schema(
+        example = "[{\"variantId\":2001,\"quantity\":1}]",
+        defaultValue = "[{\"variantId\":2001,\"quantity\":1}]"
+    )
+    @NotEmpty(message = "Reservation lines are required")
+    List<@Valid CreateSaleLineRequest> lines
+) {
+}
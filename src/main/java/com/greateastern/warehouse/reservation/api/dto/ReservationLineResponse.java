@@ -0,0 +1,7 @@
+package com.greateastern.warehouse.reservation.api.dto;
+
+public record ReservationLineResponse(
+    Long variantId,
+    Integer quantity
+) {
+}
@@ -0,0 +1,18 @@
+package com.greateastern.warehouse.reservation.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReservationResponse(
+    Long id,
+    String status,
+    String reference,
+    Instant expiresAt,
+    Long saleId,
+    List<ReservationLineResponse> lines,
+    Instant createdAt,
+    Instant updatedAt
+) {
+}
@@ -0,0 +1,8 @@
+package com.greateastern.warehouse.reservation.domain;
+
+public enum ReservationStatus {
+  HELD,
+  CONFIRMED,
+  CANCELLED,
+  EXPIRED
+}
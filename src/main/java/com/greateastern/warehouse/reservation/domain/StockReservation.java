@@ -0,0 +1,111 @@
+package com.greateastern.warehouse.reservation.domain;
+
+import com.greateastern.warehouse.common.domain.AuditableEntity;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation extends AuditableEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_id_seq")
+  @SequenceGenerator(name = "stock_reservations_id_seq", sequenceName = "stock_reservations_id_seq", allocationSize = 50)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private ReservationStatus status;
+
+  @Column(nullable = false, length = 120)
+  private String reference;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+
+  private Long saleId;
+
+  @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
+  @OrderBy("id")
+  private List<StockReservationLine> lines = new ArrayList<>();
+
+  protected StockReservation() {
+  }
+
+  public StockReservation(String reference, Instant expiresAt) {
+    this.status = ReservationStatus.HELD;
+    this.reference = reference;
+    this.expiresAt = expiresAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public ReservationStatus getStatus() {
+    return status;
+  }
+
+  public String getReference() {
+    return reference;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  public Long getSaleId() {
+    return saleId;
+  }
+
+  public List<StockReservationLine> getLines() {
+    return lines;
+  }
+
+  public Map<Long, Integer> getQuantityByVariant() {
+    Map<Long, Integer> quantityByVariant = new LinkedHashMap<>();
+
+    for (StockReservationLine line : lines) {
+      quantityByVariant.merge(line.getVariantId(), line.getQuantity(), Integer::sum);
+    }
+
+    return quantityByVariant;
+  }
+
+  public boolean isExpiredAt(Instant instant) {
+    return !expiresAt.isAfter(instant);
+  }
+
+  public void addLine(StockReservationLine line) {
+    lines.add(line);
+    line.assignReservation(this);
+  }
+
+  public void markConfirmed(Long saleId) {
+    this.status = ReservationStatus.CONFIRMED;
+    this.saleId = saleId;
+  }
+
+  public void markCancelled() {
+    this.status = ReservationStatus.CANCELLED;
+  }
+
+  public void markExpired() {
+    this.status = ReservationStatus.EXPIRED;
+  }
+}
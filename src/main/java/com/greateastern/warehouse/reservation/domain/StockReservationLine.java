@@ -0,0 +1,64 @@
+package com.greateastern.warehouse.reservation.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stock_reservation_lines")
+public class StockReservationLine {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_lines_id_seq")
+  @SequenceGenerator(
+      name = "stock_reservation_lines_id_seq",
+      sequenceName = "stock_reservation_lines_id_seq",
+      allocationSize = 50
+  )
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "reservation_id", nullable = false)
+  private StockReservation reservation;
+
+  @Column(nullable = false)
+  private Long variantId;
+
+  @Column(nullable = false)
+  private Integer quantity;
+
+  protected StockReservationLine() {
+  }
+
+  public StockReservationLine(Long variantId, Integer quantity) {
+    this.variantId = variantId;
+    this.quantity = quantity;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public StockReservation getReservation() {
+    return reservation;
+  }
+
+  public Long getVariantId() {
+    return variantId;
+  }
+
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  public void assignReservation(StockReservation reservation) {
+    this.reservation = reservation;
+  }
+}
@@ -0,0 +1,32 @@
+package com.greateastern.warehouse.reservation.domain;
+
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+  boolean existsByReferenceAndStatus(String reference, ReservationStatus status);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select reservation from StockReservation reservation where reservation.id = :id")
+  Optional<StockReservation> findByIdForUpdate(@Param("id") Long id);
+
+  @Query(value = """
+      SELECT id
+      FROM public.stock_reservations
+      WHERE status = 'HELD' AND expires_at <= NOW()
+      ORDER BY expires_at
+      LIMIT :limit
+      FOR UPDATE SKIP LOCKED
+      """, nativeQuery = true)
+  List<Long> lockExpiredHeldIds(@Param("limit") int limit);
+
+  @Query("select distinct reservation from StockReservation reservation left join fetch reservation.lines where reservation.id in :ids")
+  List<StockReservation> findAllWithLinesByIdIn(@Param("ids") Collection<Long> ids);
+}
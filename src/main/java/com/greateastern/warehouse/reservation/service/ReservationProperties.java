@@ -0,0 +1,13 @@
+package com.greateastern.warehouse.reservation.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "warehouse.reservation")
+public record ReservationProperties(
+    @DefaultValue("10m") Duration ttl,
+    @DefaultValue("15s") Duration sweepInterval,
+    @DefaultValue("200") int sweepBatchSize
+) {
+}
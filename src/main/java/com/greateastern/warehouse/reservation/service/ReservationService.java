@@ -0,0 +1,148 @@
+package com.greateastern.warehouse.reservation.service;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.reservation.api.dto.CreateReservationRequest;
+import com.greateastern.warehouse.reservation.api.dto.ReservationLineResponse;
+import com.greateastern.warehouse.reservation.api.dto.ReservationResponse;
+import com.greateastern.warehouse.reservation.domain.ReservationStatus;
+import com.greateastern.warehouse.reservation.domain.StockReservation;
+import com.greateastern.warehouse.reservation.domain.StockReservationLine;
+import com.greateastern.warehouse.reservation.domain.StockReservationRepository;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.service.SaleQuantities;
+import com.greateastern.warehouse.sale.service.SaleService;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class ReservationService {
+
+  private final StockReservationRepository stockReservationRepository;
+  private final SaleService saleService;
+  private final ReservationProperties reservationProperties;
+
+  public ReservationService(
+      StockReservationRepository stockReservationRepository,
+      SaleService saleService,
+      ReservationProperties reservationProperties
+  ) {
+    this.stockReservationRepository = stockReservationRepository;
+    this.saleService = saleService;
+    this.reservationProperties = reservationProperties;
+  }
+
+  @Transactional
+  public ReservationResponse create(CreateReservationRequest request) {
+    String reference = saleService.prepareReservationReference(request.reference());
+
+    if (stockReservationRepository.existsByReferenceAndStatus(reference, ReservationStatus.HELD)) {
+      throw new BusinessRuleException("Sale reference is already held by another reservation: " + reference);
+    }
+
+    Map<Long, Integer> quantityByVariant = SaleQuantities.aggregate(request.lines());
+    saleService.reserveStock(quantityByVariant);
+    StockReservation reservation = new StockReservation(reference, Instant.now().plus(reservationProperties.ttl()));
+    quantityByVariant.forEach((variantId, quantity) -> reservation.addLine(new StockReservationLine(variantId, quantity)));
+    return toResponse(stockReservationRepository.save(reservation));
+  }
+
+  public ReservationResponse findById(Long reservationId) {
+    return toResponse(stockReservationRepository.findById(reservationId)
+        .orElseThrow(() -> notFound(reservationId)));
+  }
+
+  @Transactional
+  public SaleResponse confirm(Long reservationId) {
+    StockReservation reservation = lockReservation(reservationId);
+
+    if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+      return saleService.findById(reservation.getSaleId());
+    }
+
+    ensureHeld(reservation);
+
+    if (reservation.isExpiredAt(Instant.now())) {
+      throw new BusinessRuleException(
+          "Reservation " + reservationId + " expired at " + reservation.getExpiresAt() + " and can no longer be confirmed");
+    }
+
+    SaleResponse sale = saleService.createFromReservedStock(reservation.getReference(), reservation.getQuantityByVariant());
+    reservation.markConfirmed(sale.id());
+    return sale;
+  }
+
+  @Transactional
+  public ReservationResponse cancel(Long reservationId) {
+    StockReservation reservation = lockReservation(reservationId);
+
+    if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+      throw new BusinessRuleException("Reservation " + reservationId + " is already confirmed and cannot be cancelled");
+    }
+
+    if (reservation.getStatus() == ReservationStatus.HELD) {
+      saleService.releaseStock(reservation.getQuantityByVariant());
+      reservation.markCancelled();
+    }
+
+    return toResponse(reservation);
+  }
+
+  @Transactional
+  public int expireDue(int limit) {
+    List<Long> reservationIds = stockReservationRepository.lockExpiredHeldIds(limit);
+
+    if (reservationIds.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, Integer> releasedQuantities = new HashMap<>();
+
+    for (StockReservation reservation : stockReservationRepository.findAllWithLinesByIdIn(reservationIds)) {
+      reservation.getQuantityByVariant().forEach((variantId, quantity) ->
+          releasedQuantities.merge(variantId, quantity, Integer::sum));
+      reservation.markExpired();
+    }
+
+    saleService.releaseStock(releasedQuantities);
+    return reservationIds.size();
+  }
+
+  private StockReservation lockReservation(Long reservationId) {
+    return stockReservationRepository.findByIdForUpdate(reservationId)
+        .orElseThrow(() -> notFound(reservationId));
+  }
+
+  private void ensureHeld(StockReservation reservation) {
+    if (reservation.getStatus() != ReservationStatus.HELD) {
+      throw new BusinessRuleException(
+          "Reservation " + reservation.getId() + " is " + reservation.getStatus().name().toLowerCase() + " and cannot be confirmed");
+    }
+  }
+
+  private ResourceNotFoundException notFound(Long reservationId) {
+    return new ResourceNotFoundException("Reservation with id " + reservationId + " was not found");
+  }
+
+  private ReservationResponse toResponse(StockReservation reservation) {
+    List<ReservationLineResponse> lines = reservation.getLines().stream()
+        .map(line -> new ReservationLineResponse(line.getVariantId(), line.getQuantity()))
+        .toList();
+
+    return new ReservationResponse(
+        reservation.getId(),
+        reservation.getStatus().name(),
+        reservation.getReference(),
+        reservation.getExpiresAt(),
+        reservation.getSaleId(),
+        lines,
+        reservation.getCreatedAt(),
+        reservation.getUpdatedAt()
+    );
+  }
+}
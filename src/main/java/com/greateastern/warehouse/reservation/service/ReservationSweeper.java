@@ -0,0 +1,71 @@
+package com.greateastern.warehouse.reservation.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationSweeper implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(ReservationSweeper.class);
+
+  private final ReservationService reservationService;
+  private final ReservationProperties reservationProperties;
+  private ScheduledExecutorService sweepScheduler;
+  private volatile boolean running;
+
+  public ReservationSweeper(ReservationService reservationService, ReservationProperties reservationProperties) {
+    this.reservationService = reservationService;
+    this.reservationProperties = reservationProperties;
+  }
+
+  @Override
+  public synchronized void start() {
+    sweepScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "stock-reservation-sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = reservationProperties.sweepInterval().toMillis();
+    sweepScheduler.scheduleWithFixedDelay(this::sweepQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    running = true;
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    sweepScheduler.shutdownNow();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void sweep() {
+    int batchSize = reservationProperties.sweepBatchSize();
+    int expired = 0;
+    int batchExpired;
+
+    do {
+      batchExpired = reservationService.expireDue(batchSize);
+      expired += batchExpired;
+    } while (running && batchExpired == batchSize);
+
+    if (expired > 0) {
+      log.info("Expired {} stock reservations and released their stock", expired);
+    }
+  }
+
+  private void sweepQuietly() {
+    try {
+      sweep();
+    } catch (RuntimeException ex) {
+      log.warn("Stock reservation sweep failed; it will be retried", ex);
+    }
+  }
+}
@@ -2,24 +2,48 @@ package com.greateastern.warehouse.sale.api;
 
 import com.greateastern.warehouse.common.api.ApiResponse;
 import com.greateastern.warehouse.common.api.ApiResponses;
+import com.greateastern.warehouse.common.api.BugFailureMessage;
+import com.greateastern.warehouse.common.api.CursorPage;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleBatchRequest;
 import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleBatchResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleBatchResultResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleQuoteResponse;
 import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleTicketResponse;
+import com.greateastern.warehouse.sale.domain.SaleFailureType;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import com.greateastern.warehouse.sale.service.SaleBatchResult;
+import com.greateastern.warehouse.sale.service.SaleExport;
+import com.greateastern.warehouse.sale.service.SaleExportService;
+import com.greateastern.warehouse.sale.service.SaleIdempotencyService;
+import com.greateastern.warehouse.sale.service.SaleResponseCache;
 import com.greateastern.warehouse.sale.service.SaleService;
+import com.greateastern.warehouse.sale.service.SaleTicketResult;
+import com.greateastern.warehouse.sale.service.SaleTicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/sales")
@@ -37,6 +61,31 @@ public class SaleController {
       }
       """;
 
+  private static final String CREATE_SALE_BATCH_EXAMPLE = """
+      {
+        \"sales\": [
+          {
+            \"reference\": \"\",
+            \"lines\": [
+              {
+                \"variantId\": 2001,
+                \"quantity\": 1
+              }
+            ]
+          },
+          {
+            \"reference\": \"\",
+            \"lines\": [
+              {
+                \"variantId\": 2002,
+                \"quantity\": 2
+              }
+            ]
+          }
+        ]
+      }
+      """;
+
   private static final String SALE_SINGLE_SUCCESS_EXAMPLE = """
       {
         \"code\": \"00\",
@@ -111,10 +160,149 @@ public class SaleController {
       }
       """;
 
+  private static final String SALE_EXPORT_NDJSON_EXAMPLE = """
+      {\"id\":3001,\"reference\":\"MIG-SEED-SALE-3001\",\"totalAmount\":259.80,\"createdAt\":\"2026-02-24T07:00:00Z\",\"lines\":[{\"id\":4001,\"variantId\":2001,\"sku\":\"MIG-SEED-A-RED-42\",\"variantName\":\"Seed Variant A Red 42\",\"quantity\":2,\"unitPrice\":129.90,\"lineTotal\":259.80}]}
+      """;
+
+  private static final String SALE_EXPORT_CSV_EXAMPLE = """
+      sale_id,reference,total_amount,created_at,line_id,variant_id,sku,variant_name,quantity,unit_price,line_total
+      3001,MIG-SEED-SALE-3001,259.80,2026-02-24T07:00:00Z,4001,2001,MIG-SEED-A-RED-42,Seed Variant A Red 42,2,129.90,259.80
+      """;
+
+  private static final String SALE_BATCH_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Sale batch processed\",
+        \"data\": {
+          \"createdCount\": 1,
+          \"rejectedCount\": 1,
+          \"results\": [
+            {
+              \"index\": 0,
+              \"reference\": \"SALE-1740396300000-4fa12c7b\",
+              \"status\": \"CREATED\",
+              \"sale\": {
+                \"id\": 3002,
+                \"reference\": \"SALE-1740396300000-4fa12c7b\",
+                \"totalAmount\": 129.90,
+                \"createdAt\": \"2026-02-24T07:05:00Z\",
+                \"lines\": [
+                  {
+                    \"id\": 4002,
+                    \"variantId\": 2001,
+                    \"sku\": \"MIG-SEED-A-RED-42\",
+                    \"variantName\": \"Seed Variant A Red 42\",
+                    \"quantity\": 1,
+                    \"unitPrice\": 129.90,
+                    \"lineTotal\": 129.90
+                  }
+                ]
+              }
+            },
+            {
+              \"index\": 1,
+              \"reference\": \"\",
+              \"status\": \"REJECTED\",
+              \"failure\": {
+                \"what\": \"Business rule violation\",
+                \"why\": \"Insufficient stock for variant 2002. Available: 1, requested: 2\",
+                \"how\": \"Update business input and retry\"
+              }
+            }
+          ]
+        }
+      }
+      """;
+
+  private static final String SALE_QUOTE_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Sale quote calculated\",
+        \"data\": {
+          \"fulfillable\": false,
+          \"totalAmount\": 389.70,
+          \"lines\": [
+            {
+              \"variantId\": 2001,
+              \"sku\": \"MIG-SEED-A-RED-42\",
+              \"variantName\": \"Seed Variant A Red 42\",
+              \"quantity\": 3,
+              \"unitPrice\": 129.90,
+              \"lineTotal\": 389.70,
+              \"availableQuantity\": 2,
+              \"fulfillable\": false,
+              \"reason\": \"Insufficient stock for variant 2001. Available: 2, requested: 3\"
+            }
+          ]
+        }
+      }
+      """;
+
+  private static final String SALE_ACCEPTED_EXAMPLE = """
+      {
+        \"code\": \"09\",
+        \"message\": \"Sale accepted for processing\",
+        \"data\": {
+          \"id\": 5001,
+          \"status\": \"PENDING\",
+          \"reference\": \"SALE-0A8MMYT2EPW00\",
+          \"createdAt\": \"2026-02-24T07:05:00Z\",
+          \"updatedAt\": \"2026-02-24T07:05:00Z\"
+        }
+      }
+      """;
+
+  private static final String SALE_TICKET_SUCCESS_EXAMPLE = """
+      {
+        \"code\": \"00\",
+        \"message\": \"Sale ticket retrieved successfully\",
+        \"data\": {
+          \"id\": 5001,
+          \"status\": \"CREATED\",
+          \"reference\": \"SALE-0A8MMYT2EPW00\",
+          \"sale\": {
+            \"id\": 3002,
+            \"reference\": \"SALE-0A8MMYT2EPW00\",
+            \"totalAmount\": 129.90,
+            \"createdAt\": \"2026-02-24T07:05:01Z\",
+            \"lines\": [
+              {
+                \"id\": 4002,
+                \"variantId\": 2001,
+                \"sku\": \"MIG-SEED-A-RED-42\",
+                \"variantName\": \"Seed Variant A Red 42\",
+                \"quantity\": 1,
+                \"unitPrice\": 129.90,
+                \"lineTotal\": 129.90
+              }
+            ]
+          },
+          \"createdAt\": \"2026-02-24T07:05:00Z\",
+          \"updatedAt\": \"2026-02-24T07:05:01Z\"
+        }
+      }
+      """;
+
+  private static final int GZIP_BUFFER_SIZE = 8192;
+
   private final SaleService saleService;
+  private final SaleTicketService saleTicketService;
+  private final SaleIdempotencyService saleIdempotencyService;
+  private final SaleResponseCache saleResponseCache;
+  private final SaleExportService saleExportService;
 
-  public SaleController(SaleService saleService) {
+  public SaleController(
+      SaleService saleService,
+      SaleTicketService saleTicketService,
+      SaleIdempotencyService saleIdempotencyService,
+      SaleResponseCache saleResponseCache,
+      SaleExportService saleExportService
+  ) {
     this.saleService = saleService;
+    this.saleTicketService = saleTicketService;
+    this.saleIdempotencyService = saleIdempotencyService;
+    this.saleResponseCache = saleResponseCache;
+    this.saleExportService = saleExportService;
   }
 
   @PostMapping
@@ -129,23 +317,87 @@ public class SaleController {
               responseCode = "201",
               description = "Sale created",
               content = @Content(mediaType = "application/json", examples = @ExampleObject(value = SALE_CREATE_SUCCESS_EXAMPLE))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "202",
+              description = "Sale accepted for asynchronous processing",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = SALE_ACCEPTED_EXAMPLE))
           )
       }
   )
-  public ResponseEntity<ApiResponse<SaleResponse>> create(@Valid @RequestBody CreateSaleRequest request) {
-    SaleResponse response = saleService.create(request);
+  public ResponseEntity<ApiResponse<?>> create(
+      @Parameter(description = "Client-generated key; retries with the same key return the first result without selling again")
+      @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+      @Valid @RequestBody CreateSaleRequest request
+  ) {
+    if (saleTicketService.acceptsAsynchronously()) {
+      SaleTicketResponse ticket = toTicketResponse(saleTicketService.submit(request));
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponses.pending("Sale accepted for processing", ticket));
+    }
+
+    SaleResponse response = idempotencyKey == null
+        ? saleService.create(request)
+        : saleIdempotencyService.create(idempotencyKey, request);
     return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponses.success("Sale created successfully", response));
   }
 
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Create sales in batch",
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          content = @Content(mediaType = "application/json", examples = @ExampleObject(value = CREATE_SALE_BATCH_EXAMPLE))
+      ),
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Sale batch processed",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = SALE_BATCH_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<SaleBatchResponse>> createBatch(@Valid @RequestBody CreateSaleBatchRequest request) {
+    List<SaleBatchResult> results = saleService.createBatch(request.sales());
+    return ResponseEntity.ok(ApiResponses.success("Sale batch processed", toBatchResponse(results)));
+  }
+
+  @PostMapping("/quote")
+  @Operation(
+      summary = "Quote sale without creating it",
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          content = @Content(mediaType = "application/json", examples = @ExampleObject(value = CREATE_SALE_EXAMPLE))
+      ),
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Sale quote calculated from current stock without taking locks",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = SALE_QUOTE_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<SaleQuoteResponse>> quote(@Valid @RequestBody CreateSaleRequest request) {
+    SaleQuoteResponse response = saleService.quote(request);
+    return ResponseEntity.ok(ApiResponses.success("Sale quote calculated", response));
+  }
+
   @GetMapping
   @Operation(
       summary = "List all sales",
       parameters = {
           @Parameter(
               name = "reference",
-              description = "Optional sale reference filter",
-              schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "MIG-SEED-SALE-3001"),
+              description = "Optional sale reference filter; omit it to page through all sales",
               example = "MIG-SEED-SALE-3001"
+          ),
+          @Parameter(
+              name = "cursor",
+              description = "Opaque nextCursor of the previous page; omit for the first page"
+          ),
+          @Parameter(
+              name = "limit",
+              description = "Page size; defaults to warehouse.pagination.default-page-size and is capped at max-page-size",
+              example = "50"
           )
       },
       responses = {
@@ -156,13 +408,85 @@ public class SaleController {
           )
       }
   )
-  public ResponseEntity<ApiResponse<List<SaleResponse>>> findAll(
-      @RequestParam(defaultValue = "MIG-SEED-SALE-3001") String reference
+  public ResponseEntity<?> findAll(
+      @RequestParam(required = false) String reference,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit
   ) {
-    List<SaleResponse> response = saleService.findAll(reference);
+    if (reference != null && !reference.isBlank()) {
+      byte[] body = saleResponseCache.findByReference(
+          reference.trim(), normalizedReference -> saleService.findAll(normalizedReference, null, null).items());
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    CursorPage<SaleResponse> response = saleService.findAll(reference, cursor, limit);
     return ResponseEntity.ok(ApiResponses.success("Sales retrieved successfully", response));
   }
 
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export sales with their lines",
+      parameters = {
+          @Parameter(
+              name = "format",
+              description = "ndjson (one sale per line, default) or csv (one sale line per row)",
+              example = "ndjson"
+          ),
+          @Parameter(
+              name = "from",
+              description = "Inclusive ISO-8601 instant the sales were created at or after; omit to start at the first sale",
+              example = "2026-02-24T00:00:00Z"
+          ),
+          @Parameter(
+              name = "to",
+              description = "Exclusive ISO-8601 instant the sales were created before; omit to end at the latest sale",
+              example = "2026-02-25T00:00:00Z"
+          )
+      },
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Sales streamed oldest first; gzip-compressed when the request accepts gzip",
+              content = {
+                  @Content(mediaType = "application/x-ndjson", examples = @ExampleObject(value = SALE_EXPORT_NDJSON_EXAMPLE)),
+                  @Content(mediaType = "text/csv", examples = @ExampleObject(value = SALE_EXPORT_CSV_EXAMPLE))
+              }
+          )
+      }
+  )
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) String format,
+      @RequestParam(required = false) String from,
+      @RequestParam(required = false) String to,
+      @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+  ) {
+    SaleExport export = SaleExport.of(format, from, to);
+    boolean gzip = acceptsGzip(acceptEncoding);
+    StreamingResponseBody body = outputStream -> {
+      if (!gzip) {
+        saleExportService.write(export, outputStream);
+        return;
+      }
+
+      GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+      saleExportService.write(export, gzipStream);
+      gzipStream.finish();
+    };
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(export.format().contentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("sales." + export.format().fileExtension())
+            .build()
+            .toString())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    return response.body(body);
+  }
+
   @GetMapping("/{saleId}")
   @Operation(
       summary = "Get sale by id",
@@ -174,10 +498,102 @@ public class SaleController {
           )
       }
   )
-  public ResponseEntity<ApiResponse<SaleResponse>> findById(
+  public ResponseEntity<byte[]> findById(
       @Parameter(example = "3001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "3001")) @PathVariable Long saleId
   ) {
-    SaleResponse response = saleService.findById(saleId);
-    return ResponseEntity.ok(ApiResponses.success("Sale retrieved successfully", response));
+    byte[] body = saleResponseCache.findById(saleId, saleService::findById);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping("/tickets/{ticketId}")
+  @Operation(
+      summary = "Get asynchronous sale ticket",
+      responses = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+              responseCode = "200",
+              description = "Sale ticket retrieved; code 09 while the ticket is still pending",
+              content = @Content(mediaType = "application/json", examples = @ExampleObject(value = SALE_TICKET_SUCCESS_EXAMPLE))
+          )
+      }
+  )
+  public ResponseEntity<ApiResponse<SaleTicketResponse>> findTicket(
+      @Parameter(example = "5001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "5001")) @PathVariable Long ticketId
+  ) {
+    SaleTicketResult ticket = saleTicketService.findById(ticketId);
+    SaleTicketResponse response = toTicketResponse(ticket);
+
+    if (ticket.status() == SaleTicketStatus.PENDING) {
+      return ResponseEntity.ok(ApiResponses.pending("Sale ticket is still pending", response));
+    }
+
+    return ResponseEntity.ok(ApiResponses.success("Sale ticket retrieved successfully", response));
+  }
+
+  private boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+
+    return false;
+  }
+
+  private SaleTicketResponse toTicketResponse(SaleTicketResult ticket) {
+    BugFailureMessage failure = ticket.failureType() == null
+        ? null
+        : toFailureMessage(ticket.failureType(), ticket.failureReason());
+
+    return new SaleTicketResponse(
+        ticket.id(),
+        ticket.status().name(),
+        ticket.reference(),
+        ticket.sale(),
+        failure,
+        ticket.createdAt(),
+        ticket.updatedAt()
+    );
+  }
+
+  private SaleBatchResponse toBatchResponse(List<SaleBatchResult> results) {
+    int createdCount = 0;
+    List<SaleBatchResultResponse> resultResponses = new ArrayList<>(results.size());
+
+    for (SaleBatchResult result : results) {
+      if (result.isCreated()) {
+        createdCount++;
+        resultResponses.add(new SaleBatchResultResponse(result.index(), result.reference(), "CREATED", result.sale(), null));
+      } else {
+        resultResponses.add(new SaleBatchResultResponse(
+            result.index(), result.reference(), "REJECTED", null, toFailureMessage(result.failure())));
+      }
+    }
+
+    return new SaleBatchResponse(createdCount, results.size() - createdCount, resultResponses);
+  }
+
+  private BugFailureMessage toFailureMessage(RuntimeException failure) {
+    SaleFailureType failureType = failure instanceof ResourceNotFoundException
+        ? SaleFailureType.NOT_FOUND
+        : SaleFailureType.BUSINESS_RULE;
+    return toFailureMessage(failureType, failure.getMessage());
+  }
+
+  private BugFailureMessage toFailureMessage(SaleFailureType failureType, String reason) {
+    if (failureType == SaleFailureType.NOT_FOUND) {
+      return new BugFailureMessage("Resource not found", reason, "Verify identifier and retry");
+    }
+
+    if (failureType == SaleFailureType.PROCESSING) {
+      return new BugFailureMessage("Sale processing failed", reason, "Inspect server logs and submit the sale again");
+    }
+
+    return new BugFailureMessage("Business rule violation", reason, "Update business input and retry");
   }
 }
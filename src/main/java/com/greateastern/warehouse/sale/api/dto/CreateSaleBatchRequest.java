@@ -0,0 +1,19 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Schema(name = "CreateSaleBatchRequest")
+public record CreateSaleBatchRequest(
+    @Schema(
+        example = "[{\"reference\":\"\",\"lines\":[{\"variantId\":2001,\"quantity\":1}]}]",
+        defaultValue = "[{\"reference\":\"\",\"lines\":[{\"variantId\":2001,\"quantity\":1}]}]"
+    )
+    @NotEmpty(message = "Sales are required")
+    @Size(max = 500, message = "A batch must not exceed 500 sales")
+    List<@Valid CreateSaleRequest> sales
+) {
+}
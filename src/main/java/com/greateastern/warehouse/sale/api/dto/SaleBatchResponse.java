@@ -0,0 +1,10 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import java.util.List;
+
+public record SaleBatchResponse(
+    int createdCount,
+    int rejectedCount,
+    List<SaleBatchResultResponse> results
+) {
+}
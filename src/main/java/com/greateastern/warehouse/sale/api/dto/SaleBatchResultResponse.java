@@ -0,0 +1,14 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.greateastern.warehouse.common.api.BugFailureMessage;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SaleBatchResultResponse(
+    int index,
+    String reference,
+    String status,
+    SaleResponse sale,
+    BugFailureMessage failure
+) {
+}
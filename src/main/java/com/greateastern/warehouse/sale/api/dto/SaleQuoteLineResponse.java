@@ -0,0 +1,18 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SaleQuoteLineResponse(
+    Long variantId,
+    String sku,
+    String variantName,
+    Integer quantity,
+    BigDecimal unitPrice,
+    BigDecimal lineTotal,
+    Integer availableQuantity,
+    boolean fulfillable,
+    String reason
+) {
+}
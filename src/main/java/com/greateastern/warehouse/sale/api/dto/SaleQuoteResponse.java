@@ -0,0 +1,11 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record SaleQuoteResponse(
+    boolean fulfillable,
+    BigDecimal totalAmount,
+    List<SaleQuoteLineResponse> lines
+) {
+}
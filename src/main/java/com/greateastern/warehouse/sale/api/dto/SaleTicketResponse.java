@@ -0,0 +1,17 @@
+package com.greateastern.warehouse.sale.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.greateastern.warehouse.common.api.BugFailureMessage;
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SaleTicketResponse(
+    Long id,
+    String status,
+    String reference,
+    SaleResponse sale,
+    BugFailureMessage failure,
+    Instant createdAt,
+    Instant updatedAt
+) {
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -18,7 +19,8 @@ import java.util.List;
 public class Sale extends AuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_id_seq")
+  @SequenceGenerator(name = "sales_id_seq", sequenceName = "sales_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true, length = 120)
@@ -0,0 +1,60 @@
+package com.greateastern.warehouse.sale.domain;
+
+import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SaleExportStore {
+
+  private static final String SELECT_LINES_SQL = """
+      SELECT sale.id AS sale_id, sale.reference, sale.total_amount, sale.created_at,
+             line.id AS line_id, line.variant_id, line.sku, line.variant_name, line.quantity, line.unit_price, line.line_total
+      FROM public.sales sale
+      JOIN public.sale_lines line ON line.sale_id = sale.id
+      WHERE sale.created_at >= ? AND sale.created_at < ?
+      ORDER BY sale.created_at, sale.id, line.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SaleExportStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void streamLines(Instant from, Instant to, int fetchSize, Consumer<SaleLineRow> consumer) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(
+              SELECT_LINES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(fetchSize);
+          statement.setTimestamp(1, Timestamp.from(from));
+          statement.setTimestamp(2, Timestamp.from(to));
+          return statement;
+        },
+        (RowCallbackHandler) resultSet -> consumer.accept(new SaleLineRow(
+            new SaleSummary(
+                resultSet.getLong("sale_id"),
+                resultSet.getString("reference"),
+                resultSet.getBigDecimal("total_amount"),
+                resultSet.getTimestamp("created_at").toInstant()
+            ),
+            new SaleLineResponse(
+                resultSet.getLong("line_id"),
+                resultSet.getLong("variant_id"),
+                resultSet.getString("sku"),
+                resultSet.getString("variant_name"),
+                resultSet.getInt("quantity"),
+                resultSet.getBigDecimal("unit_price"),
+                resultSet.getBigDecimal("line_total")
+            )
+        ))
+    );
+  }
+}
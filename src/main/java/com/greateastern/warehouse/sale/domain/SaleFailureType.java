@@ -0,0 +1,7 @@
+package com.greateastern.warehouse.sale.domain;
+
+public enum SaleFailureType {
+  NOT_FOUND,
+  BUSINESS_RULE,
+  PROCESSING
+}
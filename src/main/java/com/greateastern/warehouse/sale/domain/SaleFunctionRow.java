@@ -0,0 +1,33 @@
+package com.greateastern.warehouse.sale.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface SaleFunctionRow {
+
+  String getFailureType();
+
+  String getFailureReason();
+
+  Long getSaleId();
+
+  String getReference();
+
+  BigDecimal getTotalAmount();
+
+  Instant getCreatedAt();
+
+  Long getLineId();
+
+  Long getVariantId();
+
+  String getSku();
+
+  String getVariantName();
+
+  Integer getQuantity();
+
+  BigDecimal getUnitPrice();
+
+  BigDecimal getLineTotal();
+}
@@ -0,0 +1,37 @@
+package com.greateastern.warehouse.sale.domain;
+
+import com.greateastern.warehouse.common.domain.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "sale_idempotency_keys")
+public class SaleIdempotencyKey extends AuditableEntity {
+
+  @Id
+  @Column(name = "idempotency_key", length = 100)
+  private String key;
+
+  @Column(nullable = false, length = 64)
+  private String requestHash;
+
+  @Column(nullable = false)
+  private Long saleId;
+
+  protected SaleIdempotencyKey() {
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getRequestHash() {
+    return requestHash;
+  }
+
+  public Long getSaleId() {
+    return saleId;
+  }
+}
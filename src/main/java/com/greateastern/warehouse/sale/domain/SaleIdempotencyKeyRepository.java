@@ -0,0 +1,16 @@
+package com.greateastern.warehouse.sale.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SaleIdempotencyKeyRepository extends JpaRepository<SaleIdempotencyKey, String> {
+
+  @Modifying
+  @Query(value = """
+      insert into sale_idempotency_keys (idempotency_key, request_hash, sale_id)
+      values (:key, :requestHash, :saleId)
+      """, nativeQuery = true)
+  int insert(@Param("key") String key, @Param("requestHash") String requestHash, @Param("saleId") Long saleId);
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 
@@ -17,7 +18,8 @@ import java.math.BigDecimal;
 public class SaleLine {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_lines_id_seq")
+  @SequenceGenerator(name = "sale_lines_id_seq", sequenceName = "sale_lines_id_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -28,6 +30,12 @@ public class SaleLine {
   @JoinColumn(name = "variant_id", nullable = false)
   private ItemVariant variant;
 
+  @Column(nullable = false, length = 100)
+  private String sku;
+
+  @Column(nullable = false, length = 160)
+  private String variantName;
+
   @Column(nullable = false)
   private Integer quantity;
 
@@ -37,14 +45,23 @@ public class SaleLine {
   @Column(nullable = false, precision = 18, scale = 2)
   private BigDecimal lineTotal;
 
+  private Long stockLeaseId;
+
   protected SaleLine() {
   }
 
   public SaleLine(ItemVariant variant, Integer quantity) {
+    this(variant, quantity, null);
+  }
+
+  public SaleLine(ItemVariant variant, Integer quantity, Long stockLeaseId) {
     this.variant = variant;
+    this.sku = variant.getSku();
+    this.variantName = variant.getName();
     this.quantity = quantity;
     this.unitPrice = variant.getPrice();
     this.lineTotal = variant.getPrice().multiply(BigDecimal.valueOf(quantity));
+    this.stockLeaseId = stockLeaseId;
   }
 
   public Long getId() {
@@ -59,6 +76,14 @@ public class SaleLine {
     return variant;
   }
 
+  public String getSku() {
+    return sku;
+  }
+
+  public String getVariantName() {
+    return variantName;
+  }
+
   public Integer getQuantity() {
     return quantity;
   }
@@ -71,6 +96,10 @@ public class SaleLine {
     return lineTotal;
   }
 
+  public Long getStockLeaseId() {
+    return stockLeaseId;
+  }
+
   public void assignSale(Sale sale) {
     this.sale = sale;
   }
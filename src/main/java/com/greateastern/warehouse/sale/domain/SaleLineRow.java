@@ -0,0 +1,6 @@
+package com.greateastern.warehouse.sale.domain;
+
+import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+
+public record SaleLineRow(SaleSummary sale, SaleLineResponse line) {
+}
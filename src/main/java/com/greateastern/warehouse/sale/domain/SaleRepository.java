@@ -1,14 +1,77 @@
 package com.greateastern.warehouse.sale.domain;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
-  Optional<Sale> findByReference(String reference);
+  String SALE_LINE_ROW_SELECT = """
+      select new com.greateastern.warehouse.sale.domain.SaleLineRow(
+          new com.greateastern.warehouse.sale.domain.SaleSummary(
+              sale.id, sale.reference, sale.totalAmount, sale.createdAt),
+          new com.greateastern.warehouse.sale.api.dto.SaleLineResponse(
+              line.id, line.variant.id, line.sku, line.variantName, line.quantity, line.unitPrice, line.lineTotal))
+      from Sale sale join sale.lines line
+      """;
 
-  List<Sale> findAllByReferenceOrderByCreatedAtDesc(String reference);
+  boolean existsByReference(String reference);
 
-  List<Sale> findAllByOrderByCreatedAtDesc();
+  @Query("""
+      select new com.greateastern.warehouse.sale.domain.SaleSummary(
+          sale.id, sale.reference, sale.totalAmount, sale.createdAt)
+      from Sale sale
+      where (sale.createdAt, sale.id) < (:createdAt, :id)
+      order by sale.createdAt desc, sale.id desc
+      """)
+  List<SaleSummary> findSummaryPage(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+  @Query(SALE_LINE_ROW_SELECT + "where sale.id in :ids order by line.id")
+  List<SaleLineRow> findLineRowsBySaleIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(SALE_LINE_ROW_SELECT + "where sale.id = :id order by line.id")
+  List<SaleLineRow> findLineRowsBySaleId(@Param("id") Long id);
+
+  @Query(SALE_LINE_ROW_SELECT + "where sale.reference = :reference order by sale.createdAt desc, sale.id desc, line.id")
+  List<SaleLineRow> findLineRowsByReference(@Param("reference") String reference);
+
+  @Query("select sale.reference from Sale sale where sale.reference in :references")
+  List<String> findExistingReferences(@Param("references") Collection<String> references);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("select sale.reference from Sale sale")
+  Stream<String> streamAllReferences();
+
+  @Transactional
+  @Query(value = """
+      select
+          failure_type as "failureType",
+          failure_reason as "failureReason",
+          sale_id as "saleId",
+          reference as "reference",
+          total_amount as "totalAmount",
+          created_at as "createdAt",
+          line_id as "lineId",
+          variant_id as "variantId",
+          sku as "sku",
+          variant_name as "variantName",
+          quantity as "quantity",
+          unit_price as "unitPrice",
+          line_total as "lineTotal"
+      from public.create_sale(:reference, :variantIds, :quantities)
+      """, nativeQuery = true)
+  List<SaleFunctionRow> createSaleWithFunction(
+      @Param("reference") String reference,
+      @Param("variantIds") Long[] variantIds,
+      @Param("quantities") Integer[] quantities
+  );
 }
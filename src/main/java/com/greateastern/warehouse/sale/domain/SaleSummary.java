@@ -0,0 +1,7 @@
+package com.greateastern.warehouse.sale.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record SaleSummary(Long id, String reference, BigDecimal totalAmount, Instant createdAt) {
+}
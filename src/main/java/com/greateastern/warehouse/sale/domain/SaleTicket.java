@@ -0,0 +1,106 @@
+package com.greateastern.warehouse.sale.domain;
+
+import com.greateastern.warehouse.common.domain.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "sale_tickets")
+public class SaleTicket extends AuditableEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_tickets_id_seq")
+  @SequenceGenerator(name = "sale_tickets_id_seq", sequenceName = "sale_tickets_id_seq", allocationSize = 50)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private SaleTicketStatus status;
+
+  @Column(nullable = false, length = 120)
+  private String reference;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  private Long saleId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 40)
+  private SaleFailureType failureType;
+
+  @Column(columnDefinition = "TEXT")
+  private String failureReason;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  protected SaleTicket() {
+  }
+
+  public SaleTicket(String reference, String payload) {
+    this.status = SaleTicketStatus.PENDING;
+    this.reference = reference;
+    this.payload = payload;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public SaleTicketStatus getStatus() {
+    return status;
+  }
+
+  public String getReference() {
+    return reference;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public Long getSaleId() {
+    return saleId;
+  }
+
+  public SaleFailureType getFailureType() {
+    return failureType;
+  }
+
+  public String getFailureReason() {
+    return failureReason;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void markCreated(Long saleId) {
+    this.status = SaleTicketStatus.CREATED;
+    this.saleId = saleId;
+  }
+
+  public void markRejected(SaleFailureType failureType, String failureReason) {
+    this.status = SaleTicketStatus.REJECTED;
+    this.failureType = failureType;
+    this.failureReason = failureReason;
+  }
+
+  public void recordFailedAttempt(int maxAttempts) {
+    this.attempts++;
+
+    if (attempts >= maxAttempts) {
+      this.status = SaleTicketStatus.FAILED;
+      this.failureType = SaleFailureType.PROCESSING;
+      this.failureReason = "Sale could not be processed after " + attempts + " attempts";
+    }
+  }
+}
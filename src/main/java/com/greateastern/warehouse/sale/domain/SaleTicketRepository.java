@@ -0,0 +1,29 @@
+package com.greateastern.warehouse.sale.domain;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SaleTicketRepository extends JpaRepository<SaleTicket, Long> {
+
+  @Query(value = """
+      SELECT *
+      FROM public.sale_tickets
+      WHERE id IN (:ids) AND status = 'PENDING'
+      ORDER BY id
+      FOR UPDATE SKIP LOCKED
+      """, nativeQuery = true)
+  List<SaleTicket> lockPendingByIds(@Param("ids") Collection<Long> ids);
+
+  @Query(value = """
+      SELECT id
+      FROM public.sale_tickets
+      WHERE status = 'PENDING' AND updated_at < :updatedBefore
+      ORDER BY id
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<Long> findPendingIdsUpdatedBefore(@Param("updatedBefore") Instant updatedBefore, @Param("limit") int limit);
+}
@@ -0,0 +1,8 @@
+package com.greateastern.warehouse.sale.domain;
+
+public enum SaleTicketStatus {
+  PENDING,
+  CREATED,
+  REJECTED,
+  FAILED
+}
@@ -0,0 +1,6 @@
+package com.greateastern.warehouse.sale.service;
+
+public enum SaleAcceptanceMode {
+  SYNC,
+  ASYNC
+}
@@ -0,0 +1,23 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+
+public record SaleBatchResult(
+    int index,
+    String reference,
+    SaleResponse sale,
+    RuntimeException failure
+) {
+
+  public static SaleBatchResult created(int index, SaleResponse sale) {
+    return new SaleBatchResult(index, sale.reference(), sale, null);
+  }
+
+  public static SaleBatchResult rejected(int index, String reference, RuntimeException failure) {
+    return new SaleBatchResult(index, reference, null, failure);
+  }
+
+  public boolean isCreated() {
+    return failure == null;
+  }
+}
@@ -0,0 +1,46 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+public record SaleExport(SaleExportFormat format, Instant from, Instant to) {
+
+  private static final Instant EARLIEST = Instant.EPOCH;
+  private static final Instant LATEST = Instant.parse("9999-12-31T23:59:59Z");
+
+  public static SaleExport of(String format, String from, String to) {
+    SaleExport export = new SaleExport(parseFormat(format), parseInstant("from", from, EARLIEST), parseInstant("to", to, LATEST));
+
+    if (!export.from().isBefore(export.to())) {
+      throw new BusinessRuleException("Export range start " + from + " must be before its end " + to);
+    }
+
+    return export;
+  }
+
+  private static SaleExportFormat parseFormat(String format) {
+    if (format == null || format.isBlank()) {
+      return SaleExportFormat.NDJSON;
+    }
+
+    try {
+      return SaleExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new BusinessRuleException("Unsupported export format: " + format + ". Expected ndjson or csv");
+    }
+  }
+
+  private static Instant parseInstant(String name, String value, Instant fallback) {
+    if (value == null || value.isBlank()) {
+      return fallback;
+    }
+
+    try {
+      return Instant.parse(value.trim());
+    } catch (DateTimeParseException ex) {
+      throw new BusinessRuleException("Invalid export " + name + " instant: " + value);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.greateastern.warehouse.sale.service;
+
+public enum SaleExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv;charset=UTF-8", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  SaleExportFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String contentType() {
+    return contentType;
+  }
+
+  public String fileExtension() {
+    return fileExtension;
+  }
+}
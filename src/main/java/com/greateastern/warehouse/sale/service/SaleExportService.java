@@ -0,0 +1,154 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleExportStore;
+import com.greateastern.warehouse.sale.domain.SaleLineRow;
+import com.greateastern.warehouse.sale.domain.SaleSummary;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class SaleExportService {
+
+  private static final String CSV_HEADER =
+      "sale_id,reference,total_amount,created_at,line_id,variant_id,sku,variant_name,quantity,unit_price,line_total";
+  private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+  private final SaleExportStore saleExportStore;
+  private final ObjectWriter saleWriter;
+  private final int fetchSize;
+
+  public SaleExportService(SaleExportStore saleExportStore, ObjectMapper objectMapper, SaleProperties saleProperties) {
+    this.saleExportStore = saleExportStore;
+    this.saleWriter = objectMapper.writerFor(SaleResponse.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .withRootValueSeparator("");
+    this.fetchSize = saleProperties.export().fetchSize();
+  }
+
+  public void write(SaleExport export, OutputStream outputStream) throws IOException {
+    switch (export.format()) {
+      case NDJSON -> writeNdjson(export, outputStream);
+      case CSV -> writeCsv(export, outputStream);
+    }
+  }
+
+  private void writeNdjson(SaleExport export, OutputStream outputStream) throws IOException {
+    JsonGenerator generator = saleWriter.createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    NdjsonSales sales = new NdjsonSales(generator);
+    streamLines(export, sales);
+    sales.finish();
+    generator.close();
+  }
+
+  private void writeCsv(SaleExport export, OutputStream outputStream) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write(CSV_LINE_SEPARATOR);
+    streamLines(export, row -> {
+      try {
+        writeCsvRow(writer, row);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+    writer.flush();
+  }
+
+  private void streamLines(SaleExport export, Consumer<SaleLineRow> consumer) throws IOException {
+    try {
+      saleExportStore.streamLines(export.from(), export.to(), fetchSize, consumer);
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private void writeCsvRow(Writer writer, SaleLineRow row) throws IOException {
+    SaleSummary sale = row.sale();
+    SaleLineResponse line = row.line();
+    writer.write(sale.id().toString());
+    writer.write(',');
+    writer.write(escapeCsv(sale.reference()));
+    writer.write(',');
+    writer.write(sale.totalAmount().toPlainString());
+    writer.write(',');
+    writer.write(sale.createdAt().toString());
+    writer.write(',');
+    writer.write(line.id().toString());
+    writer.write(',');
+    writer.write(line.variantId().toString());
+    writer.write(',');
+    writer.write(escapeCsv(line.sku()));
+    writer.write(',');
+    writer.write(escapeCsv(line.variantName()));
+    writer.write(',');
+    writer.write(line.quantity().toString());
+    writer.write(',');
+    writer.write(line.unitPrice().toPlainString());
+    writer.write(',');
+    writer.write(line.lineTotal().toPlainString());
+    writer.write(CSV_LINE_SEPARATOR);
+  }
+
+  private String escapeCsv(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  private final class NdjsonSales implements Consumer<SaleLineRow> {
+
+    private final JsonGenerator generator;
+    private SaleSummary sale;
+    private List<SaleLineResponse> lines = new ArrayList<>();
+
+    private NdjsonSales(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void accept(SaleLineRow row) {
+      if (sale != null && !sale.id().equals(row.sale().id())) {
+        try {
+          writeSale();
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }
+
+      sale = row.sale();
+      lines.add(row.line());
+    }
+
+    private void finish() throws IOException {
+      if (sale != null) {
+        writeSale();
+      }
+    }
+
+    private void writeSale() throws IOException {
+      saleWriter.writeValue(
+          generator, new SaleResponse(sale.id(), sale.reference(), sale.totalAmount(), sale.createdAt(), lines));
+      generator.writeRaw('\n');
+      lines = new ArrayList<>();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.common.error.ResourceBusyException;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "warehouse.sale.group-commit", name = "enabled", havingValue = "true")
+public class SaleGroupCommitter implements SmartLifecycle {
+
+  private final SaleService saleService;
+  private final SaleTransactionRunner saleTransactionRunner;
+  private final SaleProperties.GroupCommit groupCommit;
+  private final BlockingQueue<PendingSale> pendingSales = new LinkedBlockingQueue<>();
+  private ExecutorService committers;
+  private volatile boolean running;
+
+  public SaleGroupCommitter(
+      SaleService saleService,
+      SaleTransactionRunner saleTransactionRunner,
+      SaleProperties saleProperties
+  ) {
+    this.saleService = saleService;
+    this.saleTransactionRunner = saleTransactionRunner;
+    this.groupCommit = saleProperties.groupCommit();
+  }
+
+  public SaleResponse submit(CreateSaleRequest request) {
+    PendingSale pendingSale = new PendingSale(request, new CompletableFuture<>());
+
+    synchronized (pendingSales) {
+      if (!running) {
+        throw new ResourceBusyException("Sale group commit is not running");
+      }
+
+      pendingSales.add(pendingSale);
+    }
+
+    try {
+      return pendingSale.result().get(groupCommit.timeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      if (pendingSales.remove(pendingSale)) {
+        throw new ResourceBusyException("Sale group commit did not pick up the sale within " + groupCommit.timeout(), ex);
+      }
+
+      throw new ResourceBusyException(
+          "Sale group commit did not finish within " + groupCommit.timeout() + "; the sale may still be created", ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResourceBusyException("Interrupted while waiting for the sale group commit", ex);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    AtomicInteger committerIndex = new AtomicInteger();
+    committers = Executors.newFixedThreadPool(groupCommit.committers(), runnable -> {
+      Thread thread = new Thread(runnable, "sale-group-commit-" + committerIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    running = true;
+
+    for (int index = 0; index < groupCommit.committers(); index++) {
+      committers.submit(this::commitGroups);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    synchronized (pendingSales) {
+      running = false;
+    }
+
+    committers.shutdown();
+
+    try {
+      if (!committers.awaitTermination(30, TimeUnit.SECONDS)) {
+        committers.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      committers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    List<PendingSale> abandonedSales = new ArrayList<>();
+    pendingSales.drainTo(abandonedSales);
+    abandonedSales.forEach(pendingSale -> pendingSale.result()
+        .completeExceptionally(new IllegalStateException("Sale group commit stopped before the sale was processed")));
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void commitGroups() {
+    while (running) {
+      try {
+        List<PendingSale> group = collectGroup();
+
+        if (!group.isEmpty()) {
+          commitGroup(group);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private List<PendingSale> collectGroup() throws InterruptedException {
+    List<PendingSale> group = new ArrayList<>(groupCommit.maxSize());
+    PendingSale firstSale = pendingSales.poll(500, TimeUnit.MILLISECONDS);
+
+    if (firstSale == null) {
+      return group;
+    }
+
+    group.add(firstSale);
+    long deadline = System.nanoTime() + groupCommit.window().toNanos();
+
+    while (group.size() < groupCommit.maxSize()) {
+      long remainingNanos = deadline - System.nanoTime();
+      PendingSale nextSale = remainingNanos > 0
+          ? pendingSales.poll(remainingNanos, TimeUnit.NANOSECONDS)
+          : pendingSales.poll();
+
+      if (nextSale == null) {
+        break;
+      }
+
+      group.add(nextSale);
+    }
+
+    return group;
+  }
+
+  private void commitGroup(List<PendingSale> group) {
+    List<CreateSaleRequest> requests = group.stream().map(PendingSale::request).toList();
+    AtomicReference<List<SaleBatchResult>> attemptedResults = new AtomicReference<>();
+
+    try {
+      List<SaleBatchResult> results = saleTransactionRunner.execute(() -> {
+        attemptedResults.set(null);
+        List<SaleBatchResult> batchResults = saleService.createBatchInCurrentTransaction(requests);
+        attemptedResults.set(batchResults);
+        return batchResults;
+      });
+
+      for (int index = 0; index < group.size(); index++) {
+        complete(group.get(index), results.get(index));
+      }
+    } catch (RuntimeException ex) {
+      if (group.size() == 1) {
+        group.get(0).result().completeExceptionally(ex);
+        return;
+      }
+
+      List<SaleBatchResult> results = attemptedResults.get();
+
+      for (int index = 0; index < group.size(); index++) {
+        if (results != null && !results.get(index).isCreated()) {
+          complete(group.get(index), results.get(index));
+        } else {
+          commitAlone(group.get(index));
+        }
+      }
+    }
+  }
+
+  private void commitAlone(PendingSale pendingSale) {
+    try {
+      List<SaleBatchResult> results = saleTransactionRunner.execute(
+          () -> saleService.createBatchInCurrentTransaction(List.of(pendingSale.request())));
+      complete(pendingSale, results.get(0));
+    } catch (RuntimeException ex) {
+      pendingSale.result().completeExceptionally(ex);
+    }
+  }
+
+  private void complete(PendingSale pendingSale, SaleBatchResult result) {
+    if (result.isCreated()) {
+      pendingSale.result().complete(result.sale());
+    } else {
+      pendingSale.result().completeExceptionally(result.failure());
+    }
+  }
+
+  private record PendingSale(CreateSaleRequest request, CompletableFuture<SaleResponse> result) {
+  }
+}
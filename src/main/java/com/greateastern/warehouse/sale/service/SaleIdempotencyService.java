@@ -0,0 +1,157 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ConflictException;
+import com.greateastern.warehouse.common.error.SqlStates;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleIdempotencyKeyRepository;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class SaleIdempotencyService {
+
+  private static final int MAX_KEY_LENGTH = 100;
+  private static final String IDEMPOTENCY_KEY_CONSTRAINT = "pk_sale_idempotency_keys";
+
+  private final SaleService saleService;
+  private final SaleIdempotencyKeyRepository saleIdempotencyKeyRepository;
+  private final SaleTransactionRunner saleTransactionRunner;
+  private final ObjectMapper objectMapper;
+  private final Map<String, IdempotentSale> completedSales;
+  private final Map<String, CompletableFuture<IdempotentSale>> inFlightSales = new ConcurrentHashMap<>();
+
+  public SaleIdempotencyService(
+      SaleService saleService,
+      SaleIdempotencyKeyRepository saleIdempotencyKeyRepository,
+      SaleTransactionRunner saleTransactionRunner,
+      ObjectMapper objectMapper,
+      SaleProperties saleProperties
+  ) {
+    this.saleService = saleService;
+    this.saleIdempotencyKeyRepository = saleIdempotencyKeyRepository;
+    this.saleTransactionRunner = saleTransactionRunner;
+    this.objectMapper = objectMapper;
+    this.completedSales = Collections.synchronizedMap(new CompletedSaleCache(saleProperties.idempotency().cacheSize()));
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public SaleResponse create(String idempotencyKey, CreateSaleRequest request) {
+    String key = normalizeKey(idempotencyKey);
+    String requestHash = hashRequest(request);
+    IdempotentSale completedSale = completedSales.get(key);
+
+    if (completedSale != null) {
+      return completedSale.verify(key, requestHash);
+    }
+
+    CompletableFuture<IdempotentSale> execution = new CompletableFuture<>();
+    CompletableFuture<IdempotentSale> inFlightSale = inFlightSales.putIfAbsent(key, execution);
+
+    if (inFlightSale != null) {
+      return await(inFlightSale).verify(key, requestHash);
+    }
+
+    try {
+      IdempotentSale sale = findStoredSale(key).orElseGet(() -> createSale(key, requestHash, request));
+      completedSales.put(key, sale);
+      execution.complete(sale);
+      return sale.verify(key, requestHash);
+    } catch (RuntimeException ex) {
+      execution.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlightSales.remove(key, execution);
+    }
+  }
+
+  private IdempotentSale createSale(String key, String requestHash, CreateSaleRequest request) {
+    try {
+      return saleTransactionRunner.execute(() -> {
+        SaleResponse sale = saleService.createInCurrentTransaction(request);
+        saleIdempotencyKeyRepository.insert(key, requestHash, sale.id());
+        return new IdempotentSale(requestHash, sale);
+      });
+    } catch (DataIntegrityViolationException ex) {
+      if (SqlStates.findUniqueViolationConstraint(ex).filter(IDEMPOTENCY_KEY_CONSTRAINT::equals).isEmpty()) {
+        throw ex;
+      }
+
+      return findStoredSale(key).orElseThrow(() -> ex);
+    }
+  }
+
+  private Optional<IdempotentSale> findStoredSale(String key) {
+    return saleIdempotencyKeyRepository.findById(key)
+        .map(storedKey -> new IdempotentSale(storedKey.getRequestHash(), saleService.findById(storedKey.getSaleId())));
+  }
+
+  private IdempotentSale await(CompletableFuture<IdempotentSale> inFlightSale) {
+    try {
+      return inFlightSale.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+  }
+
+  private String normalizeKey(String idempotencyKey) {
+    String key = idempotencyKey.trim();
+
+    if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+      throw new BusinessRuleException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+
+    return key;
+  }
+
+  private String hashRequest(CreateSaleRequest request) {
+    try {
+      byte[] payload = objectMapper.writeValueAsBytes(request);
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("Failed to hash sale request", ex);
+    }
+  }
+
+  private record IdempotentSale(String requestHash, SaleResponse sale) {
+
+    private SaleResponse verify(String key, String expectedRequestHash) {
+      if (!requestHash.equals(expectedRequestHash)) {
+        throw new ConflictException("Idempotency-Key " + key + " was already used for a different sale request");
+      }
+
+      return sale;
+    }
+  }
+
+  private static final class CompletedSaleCache extends LinkedHashMap<String, IdempotentSale> {
+
+    private final int maxEntries;
+
+    private CompletedSaleCache(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, IdempotentSale> eldest) {
+      return size() > maxEntries;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.variant.service.VariantLockPolicy;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "warehouse.sale")
+public record SaleProperties(
+    @DefaultValue("locking") SaleStockMode stockMode,
+    Integer referenceNodeId,
+    @DefaultValue ReferenceFilter referenceFilter,
+    @DefaultValue Retry retry,
+    @DefaultValue Lock lock,
+    @DefaultValue Acceptance acceptance,
+    @DefaultValue GroupCommit groupCommit,
+    @DefaultValue Idempotency idempotency,
+    @DefaultValue ResponseCache responseCache,
+    @DefaultValue Export export
+) {
+
+  public record ReferenceFilter(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("1000000") int expectedReferences,
+      @DefaultValue("0.01") double falsePositiveRate
+  ) {
+  }
+
+  public record Retry(
+      @DefaultValue("4") int maxAttempts,
+      @DefaultValue("10ms") Duration initialBackoff,
+      @DefaultValue("200ms") Duration maxBackoff
+  ) {
+  }
+
+  public record Lock(
+      @DefaultValue("wait") VariantLockPolicy policy,
+      @DefaultValue("2s") Duration timeout
+  ) {
+  }
+
+  public record Acceptance(
+      @DefaultValue("sync") SaleAcceptanceMode mode,
+      @DefaultValue("2") int workers,
+      @DefaultValue("100") int batchSize,
+      @DefaultValue("10000") int queueCapacity,
+      @DefaultValue("30s") Duration recoveryInterval,
+      @DefaultValue("5") int maxAttempts
+  ) {
+  }
+
+  public record GroupCommit(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("2ms") Duration window,
+      @DefaultValue("64") int maxSize,
+      @DefaultValue("2") int committers,
+      @DefaultValue("30s") Duration timeout
+  ) {
+  }
+
+  public record Idempotency(@DefaultValue("10000") int cacheSize) {
+  }
+
+  public record ResponseCache(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("64MB") DataSize maxSize
+  ) {
+  }
+
+  public record Export(@DefaultValue("1000") int fetchSize) {
+  }
+}
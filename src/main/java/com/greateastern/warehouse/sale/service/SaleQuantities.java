@@ -0,0 +1,22 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class SaleQuantities {
+
+  private SaleQuantities() {
+  }
+
+  public static Map<Long, Integer> aggregate(List<CreateSaleLineRequest> lines) {
+    Map<Long, Integer> quantityByVariant = new LinkedHashMap<>();
+
+    for (CreateSaleLineRequest line : lines) {
+      quantityByVariant.merge(line.variantId(), line.quantity(), Integer::sum);
+    }
+
+    return quantityByVariant;
+  }
+}
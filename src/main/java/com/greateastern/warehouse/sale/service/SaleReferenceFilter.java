@@ -0,0 +1,123 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.sale.domain.SaleRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class SaleReferenceFilter {
+
+  private final SaleRepository saleRepository;
+  private final boolean enabled;
+  private final long bitCount;
+  private final int hashCount;
+  private final AtomicLongArray bits;
+  private volatile boolean loaded;
+
+  public SaleReferenceFilter(SaleRepository saleRepository, SaleProperties saleProperties) {
+    SaleProperties.ReferenceFilter settings = saleProperties.referenceFilter();
+    this.saleRepository = saleRepository;
+    this.enabled = settings.enabled();
+
+    if (!enabled) {
+      this.bitCount = 0;
+      this.hashCount = 0;
+      this.bits = new AtomicLongArray(0);
+      return;
+    }
+
+    long expectedReferences = Math.max(1, settings.expectedReferences());
+    double optimalBits = -expectedReferences * Math.log(settings.falsePositiveRate()) / (Math.log(2) * Math.log(2));
+    this.bitCount = Math.max(64, (long) Math.ceil(optimalBits / 64) * 64);
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedReferences * Math.log(2)));
+    this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+    if (!enabled) {
+      return;
+    }
+
+    try (Stream<String> references = saleRepository.streamAllReferences()) {
+      references.forEach(this::add);
+    }
+
+    loaded = true;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean mayBeTaken(String reference) {
+    if (!enabled) {
+      return false;
+    }
+
+    if (!loaded) {
+      return true;
+    }
+
+    long hash = hash(reference);
+    int firstHash = (int) hash;
+    int secondHash = (int) (hash >>> 32);
+
+    for (int index = 0; index < hashCount; index++) {
+      long bit = bitIndex(firstHash + index * secondHash);
+
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public void add(String reference) {
+    if (!enabled) {
+      return;
+    }
+
+    long hash = hash(reference);
+    int firstHash = (int) hash;
+    int secondHash = (int) (hash >>> 32);
+
+    for (int index = 0; index < hashCount; index++) {
+      long bit = bitIndex(firstHash + index * secondHash);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = bits.get(word);
+
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+  }
+
+  private long bitIndex(int combinedHash) {
+    return Math.floorMod((long) combinedHash, bitCount);
+  }
+
+  private long hash(String reference) {
+    long hash = 0xcbf29ce484222325L;
+
+    for (byte value : reference.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= value;
+      hash *= 0x100000001b3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
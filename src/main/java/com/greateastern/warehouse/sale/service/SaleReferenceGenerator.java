@@ -0,0 +1,6 @@
+package com.greateastern.warehouse.sale.service;
+
+public interface SaleReferenceGenerator {
+
+  String nextReference();
+}
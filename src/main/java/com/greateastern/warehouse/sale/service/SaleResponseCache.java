@@ -0,0 +1,138 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.greateastern.warehouse.common.api.ApiResponses;
+import com.greateastern.warehouse.common.api.CursorPage;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class SaleResponseCache {
+
+  private static final String SALE_RETRIEVED_MESSAGE = "Sale retrieved successfully";
+  private static final String SALES_RETRIEVED_MESSAGE = "Sales retrieved successfully";
+
+  private final ObjectMapper objectMapper;
+  private final Cache<Key, byte[]> responses;
+
+  public SaleResponseCache(ObjectMapper objectMapper, SaleProperties saleProperties, MeterRegistry meterRegistry) {
+    SaleProperties.ResponseCache settings = saleProperties.responseCache();
+    this.objectMapper = objectMapper;
+
+    if (!settings.enabled()) {
+      this.responses = null;
+      return;
+    }
+
+    this.responses = Caffeine.newBuilder()
+        .maximumWeight(settings.maxSize().toBytes())
+        .weigher((Key key, byte[] body) -> body.length)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "sale.responses");
+    Gauge.builder("warehouse.sale.response.cache.bytes", responses, cache -> cache.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0))
+            .orElse(0L))
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("warehouse.sale.response.cache.hit.ratio", responses, cache -> cache.stats().hitRate())
+        .register(meterRegistry);
+  }
+
+  public byte[] findById(Long saleId, Function<Long, SaleResponse> loader) {
+    if (responses == null) {
+      return serializeSale(loader.apply(saleId));
+    }
+
+    byte[] cached = responses.getIfPresent(Key.id(saleId));
+
+    if (cached != null) {
+      return cached;
+    }
+
+    byte[] body = serializeSale(loader.apply(saleId));
+    responses.put(Key.id(saleId), body);
+    return body;
+  }
+
+  public byte[] findByReference(String reference, Function<String, List<SaleResponse>> loader) {
+    if (responses == null) {
+      return serializeSales(loader.apply(reference));
+    }
+
+    byte[] cached = responses.getIfPresent(Key.reference(reference));
+
+    if (cached != null) {
+      return cached;
+    }
+
+    List<SaleResponse> sales = loader.apply(reference);
+    byte[] body = serializeSales(sales);
+
+    if (!sales.isEmpty()) {
+      responses.put(Key.reference(reference), body);
+    }
+
+    return body;
+  }
+
+  public void put(SaleResponse sale) {
+    if (responses == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      store(sale);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        store(sale);
+      }
+    });
+  }
+
+  private void store(SaleResponse sale) {
+    responses.put(Key.id(sale.id()), serializeSale(sale));
+    responses.put(Key.reference(sale.reference()), serializeSales(List.of(sale)));
+  }
+
+  private byte[] serializeSale(SaleResponse sale) {
+    return serialize(ApiResponses.success(SALE_RETRIEVED_MESSAGE, sale));
+  }
+
+  private byte[] serializeSales(List<SaleResponse> sales) {
+    return serialize(ApiResponses.success(SALES_RETRIEVED_MESSAGE, CursorPage.last(sales)));
+  }
+
+  private byte[] serialize(Object response) {
+    try {
+      return objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Failed to serialize sale response", ex);
+    }
+  }
+
+  private record Key(Long saleId, String reference) {
+
+    private static Key id(Long saleId) {
+      return new Key(saleId, null);
+    }
+
+    private static Key reference(String reference) {
+      return new Key(null, reference);
+    }
+  }
+}
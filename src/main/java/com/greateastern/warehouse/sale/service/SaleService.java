@@ -1,23 +1,43 @@
 package com.greateastern.warehouse.sale.service;
 
+import com.greateastern.warehouse.common.api.CursorPage;
+import com.greateastern.warehouse.common.api.PageCursor;
+import com.greateastern.warehouse.common.api.PaginationProperties;
 import com.greateastern.warehouse.common.error.BusinessRuleException;
 import com.greateastern.warehouse.common.error.ResourceNotFoundException;
-import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.inventory.service.InventoryEngine;
+import com.greateastern.warehouse.inventory.service.StockLeases;
+import com.greateastern.warehouse.inventory.service.StripedStock;
 import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
 import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleQuoteLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleQuoteResponse;
 import com.greateastern.warehouse.sale.api.dto.SaleResponse;
 import com.greateastern.warehouse.sale.domain.Sale;
+import com.greateastern.warehouse.sale.domain.SaleFailureType;
+import com.greateastern.warehouse.sale.domain.SaleFunctionRow;
 import com.greateastern.warehouse.sale.domain.SaleLine;
+import com.greateastern.warehouse.sale.domain.SaleLineRow;
 import com.greateastern.warehouse.sale.domain.SaleRepository;
+import com.greateastern.warehouse.sale.domain.SaleSummary;
 import com.greateastern.warehouse.variant.domain.ItemVariant;
+import com.greateastern.warehouse.variant.domain.VariantAvailability;
+import com.greateastern.warehouse.variant.domain.VariantStock;
 import com.greateastern.warehouse.variant.service.VariantService;
-import java.time.Instant;
-import java.util.Comparator;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -26,59 +46,327 @@ public class SaleService {
 
   private final SaleRepository saleRepository;
   private final VariantService variantService;
+  private final SaleReferenceGenerator saleReferenceGenerator;
+  private final SaleReferenceFilter saleReferenceFilter;
+  private final SaleProperties saleProperties;
+  private final PaginationProperties paginationProperties;
+  private final SaleTransactionRunner saleTransactionRunner;
+  private final SaleStockLocker saleStockLocker;
+  private final SaleResponseCache saleResponseCache;
+  private final ObjectProvider<InventoryEngine> inventoryEngineProvider;
+  private final ObjectProvider<StripedStock> stripedStockProvider;
+  private final ObjectProvider<StockLeases> stockLeasesProvider;
+  private final ObjectProvider<SaleGroupCommitter> saleGroupCommitterProvider;
 
-  public SaleService(SaleRepository saleRepository, VariantService variantService) {
+  public SaleService(
+      SaleRepository saleRepository,
+      VariantService variantService,
+      SaleReferenceGenerator saleReferenceGenerator,
+      SaleReferenceFilter saleReferenceFilter,
+      SaleProperties saleProperties,
+      PaginationProperties paginationProperties,
+      SaleTransactionRunner saleTransactionRunner,
+      SaleStockLocker saleStockLocker,
+      SaleResponseCache saleResponseCache,
+      ObjectProvider<InventoryEngine> inventoryEngineProvider,
+      ObjectProvider<StripedStock> stripedStockProvider,
+      ObjectProvider<StockLeases> stockLeasesProvider,
+      ObjectProvider<SaleGroupCommitter> saleGroupCommitterProvider
+  ) {
     this.saleRepository = saleRepository;
     this.variantService = variantService;
+    this.saleReferenceGenerator = saleReferenceGenerator;
+    this.saleReferenceFilter = saleReferenceFilter;
+    this.saleProperties = saleProperties;
+    this.paginationProperties = paginationProperties;
+    this.saleTransactionRunner = saleTransactionRunner;
+    this.saleStockLocker = saleStockLocker;
+    this.saleResponseCache = saleResponseCache;
+    this.inventoryEngineProvider = inventoryEngineProvider;
+    this.stripedStockProvider = stripedStockProvider;
+    this.stockLeasesProvider = stockLeasesProvider;
+    this.saleGroupCommitterProvider = saleGroupCommitterProvider;
   }
 
-  @Transactional
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public SaleResponse create(CreateSaleRequest request) {
-    Map<Long, Integer> quantityByVariant = aggregateQuantities(request.lines());
-    List<ItemVariant> lockedVariants = variantService.lockByIds(quantityByVariant.keySet())
-        .stream()
-        .sorted(Comparator.comparing(ItemVariant::getId))
+    SaleGroupCommitter saleGroupCommitter = saleGroupCommitterProvider.getIfAvailable();
+
+    if (saleGroupCommitter != null) {
+      return saleGroupCommitter.submit(request);
+    }
+
+    return saleTransactionRunner.execute(() -> createSale(request));
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<SaleBatchResult> createBatch(List<CreateSaleRequest> requests) {
+    return saleTransactionRunner.execute(() -> createSaleBatch(requests));
+  }
+
+  public CreateSaleRequest prepareForAcceptance(CreateSaleRequest request) {
+    String reference = resolveReference(request.reference());
+    ensureVariantsCanBeSold(SaleQuantities.aggregate(request.lines()));
+    return new CreateSaleRequest(reference, request.lines());
+  }
+
+  public String prepareReservationReference(String reference) {
+    String candidate = normalizeReference(reference);
+
+    if (candidate.isBlank()) {
+      return saleReferenceGenerator.nextReference();
+    }
+
+    boolean ruledOut = saleReferenceFilter.isEnabled() && !saleReferenceFilter.mayBeTaken(candidate);
+
+    if (!ruledOut && saleRepository.existsByReference(candidate)) {
+      throw new BusinessRuleException("Sale reference already exists: " + candidate);
+    }
+
+    return candidate;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SaleResponse createInCurrentTransaction(CreateSaleRequest request) {
+    return createSale(request);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<SaleBatchResult> createBatchInCurrentTransaction(List<CreateSaleRequest> requests) {
+    return createSaleBatch(requests);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void reserveStock(Map<Long, Integer> quantityByVariant) {
+    ensureVariantsCanBeSold(quantityByVariant);
+
+    if (saleProperties.stockMode() == SaleStockMode.LEASED) {
+      applyConditionalDecrements(quantityByVariant);
+      return;
+    }
+
+    applyUnlockedDecrements(quantityByVariant);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void releaseStock(Map<Long, Integer> quantityByVariant) {
+    if (saleProperties.stockMode() == SaleStockMode.PARTITIONED) {
+      inventoryEngineProvider.getObject().release(quantityByVariant);
+      return;
+    }
+
+    new TreeMap<>(quantityByVariant).forEach(variantService::increaseStock);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SaleResponse createFromReservedStock(String reference, Map<Long, Integer> quantityByVariant) {
+    Map<Long, ItemVariant> variantsById = mapVariantsById(variantService.findAllByIds(quantityByVariant.keySet()));
+    ensureAllVariantsExist(quantityByVariant, variantsById);
+    Sale sale = new Sale(resolveReference(reference));
+
+    for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+      ItemVariant variant = variantsById.get(entry.getKey());
+      ensureVariantCanBeSold(variant);
+      sale.addLine(new SaleLine(variant, entry.getValue()));
+    }
+
+    Sale savedSale = saleRepository.save(sale);
+    saleReferenceFilter.add(savedSale.getReference());
+    return cache(toResponse(savedSale));
+  }
+
+  private SaleResponse createSale(CreateSaleRequest request) {
+    String reference = resolveReference(request.reference());
+    Map<Long, Integer> quantityByVariant = SaleQuantities.aggregate(request.lines());
+
+    if (saleProperties.stockMode() == SaleStockMode.FUNCTION) {
+      return cache(createSaleWithFunction(reference, quantityByVariant));
+    }
+
+    Sale sale = locksStockRows()
+        ? prepareLockedSale(reference, quantityByVariant)
+        : prepareUnlockedSale(reference, quantityByVariant);
+    Sale savedSale = saleRepository.save(sale);
+    saleReferenceFilter.add(savedSale.getReference());
+    return cache(toResponse(savedSale));
+  }
+
+  private SaleResponse createSaleWithFunction(String reference, Map<Long, Integer> quantityByVariant) {
+    List<SaleFunctionRow> rows = saleRepository.createSaleWithFunction(
+        reference,
+        quantityByVariant.keySet().toArray(Long[]::new),
+        quantityByVariant.values().toArray(Integer[]::new)
+    );
+    SaleFunctionRow firstRow = rows.get(0);
+
+    if (firstRow.getFailureType() != null) {
+      throw switch (SaleFailureType.valueOf(firstRow.getFailureType())) {
+        case NOT_FOUND -> new ResourceNotFoundException(firstRow.getFailureReason());
+        case BUSINESS_RULE -> new BusinessRuleException(firstRow.getFailureReason());
+        case PROCESSING -> new IllegalStateException(firstRow.getFailureReason());
+      };
+    }
+
+    List<SaleLineResponse> lines = rows.stream()
+        .map(row -> new SaleLineResponse(
+            row.getLineId(),
+            row.getVariantId(),
+            row.getSku(),
+            row.getVariantName(),
+            row.getQuantity(),
+            row.getUnitPrice(),
+            row.getLineTotal()
+        ))
         .toList();
-    Map<Long, ItemVariant> variantsById = mapVariantsById(lockedVariants);
+    saleReferenceFilter.add(firstRow.getReference());
+    return new SaleResponse(
+        firstRow.getSaleId(),
+        firstRow.getReference(),
+        firstRow.getTotalAmount(),
+        firstRow.getCreatedAt(),
+        lines
+    );
+  }
+
+  private Sale prepareLockedSale(String reference, Map<Long, Integer> quantityByVariant) {
+    ensureVariantsCanBeSold(quantityByVariant);
+
+    Map<Long, VariantStock> stockById = mapStockById(saleStockLocker.lock(quantityByVariant.keySet()));
+    Map<Long, ItemVariant> variantsById = mapVariantsById(variantService.findAllByIds(quantityByVariant.keySet()));
     ensureAllVariantsExist(quantityByVariant, variantsById);
 
-    Sale sale = new Sale(resolveReference(request.reference()));
+    Sale sale = new Sale(reference);
 
     for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
       ItemVariant variant = variantsById.get(entry.getKey());
       Integer quantity = entry.getValue();
       ensureVariantCanBeSold(variant);
-      variant.decreaseStock(quantity);
+      stockById.get(entry.getKey()).decrease(quantity);
       SaleLine saleLine = new SaleLine(variant, quantity);
       sale.addLine(saleLine);
     }
 
-    Sale savedSale = saleRepository.save(sale);
-    return toResponse(savedSale);
+    return sale;
   }
 
-  public List<SaleResponse> findAll(String reference) {
-    String normalizedReference = reference == null ? "" : reference.trim();
-    List<Sale> sales = normalizedReference.isBlank()
-        ? saleRepository.findAllByOrderByCreatedAtDesc()
-        : saleRepository.findAllByReferenceOrderByCreatedAtDesc(normalizedReference);
-    return sales.stream().map(this::toResponse).toList();
+  private Sale prepareUnlockedSale(String reference, Map<Long, Integer> quantityByVariant) {
+    Map<Long, ItemVariant> variantsById = mapVariantsById(variantService.findAllByIds(quantityByVariant.keySet()));
+    ensureAllVariantsExist(quantityByVariant, variantsById);
+
+    for (ItemVariant variant : variantsById.values()) {
+      ensureVariantCanBeSold(variant);
+    }
+
+    Sale sale = new Sale(reference);
+    Map<Long, Long> stockLeaseIds = applyUnlockedDecrements(quantityByVariant);
+
+    for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+      sale.addLine(new SaleLine(variantsById.get(entry.getKey()), entry.getValue(), stockLeaseIds.get(entry.getKey())));
+    }
+
+    return sale;
   }
 
-  public SaleResponse findById(Long saleId) {
-    Sale sale = saleRepository.findById(saleId)
-        .orElseThrow(() -> new ResourceNotFoundException("Sale with id " + saleId + " was not found"));
-    return toResponse(sale);
+  private List<SaleBatchResult> createSaleBatch(List<CreateSaleRequest> requests) {
+    List<Map<Long, Integer>> quantitiesBySale = requests.stream()
+        .map(request -> SaleQuantities.aggregate(request.lines()))
+        .toList();
+    Set<Long> variantIds = new TreeSet<>();
+    quantitiesBySale.forEach(quantityByVariant -> variantIds.addAll(quantityByVariant.keySet()));
+    Map<Long, VariantStock> stockById = locksStockRows()
+        ? mapStockById(saleStockLocker.lock(variantIds))
+        : Map.of();
+    Map<Long, ItemVariant> variantsById = mapVariantsById(variantService.findAllByIds(variantIds));
+    Set<String> claimedReferences = findExistingReferences(requests);
+
+    SaleBatchResult[] results = new SaleBatchResult[requests.size()];
+    List<Sale> acceptedSales = new ArrayList<>();
+    List<Integer> acceptedIndexes = new ArrayList<>();
+
+    for (int index = 0; index < requests.size(); index++) {
+      String reference = normalizeReference(requests.get(index).reference());
+
+      try {
+        acceptedSales.add(prepareBatchSale(
+            reference,
+            quantitiesBySale.get(index),
+            variantsById,
+            stockById,
+            claimedReferences
+        ));
+        acceptedIndexes.add(index);
+      } catch (ResourceNotFoundException | BusinessRuleException ex) {
+        results[index] = SaleBatchResult.rejected(index, reference, ex);
+      }
+    }
+
+    List<Sale> savedSales = saleRepository.saveAll(acceptedSales);
+    savedSales.forEach(savedSale -> saleReferenceFilter.add(savedSale.getReference()));
+
+    for (int position = 0; position < savedSales.size(); position++) {
+      int index = acceptedIndexes.get(position);
+      results[index] = SaleBatchResult.created(index, cache(toResponse(savedSales.get(position))));
+    }
+
+    return List.of(results);
   }
 
-  private Map<Long, Integer> aggregateQuantities(List<CreateSaleLineRequest> lines) {
-    Map<Long, Integer> quantityByVariant = new LinkedHashMap<>();
+  public CursorPage<SaleResponse> findAll(String reference, String cursor, Integer limit) {
+    String normalizedReference = reference == null ? "" : reference.trim();
 
-    for (CreateSaleLineRequest line : lines) {
-      quantityByVariant.merge(line.variantId(), line.quantity(), Integer::sum);
+    if (!normalizedReference.isBlank()) {
+      return CursorPage.last(toResponses(saleRepository.findLineRowsByReference(normalizedReference)));
     }
 
-    return quantityByVariant;
+    PageCursor pageCursor = PageCursor.decode(cursor);
+    int pageSize = paginationProperties.resolvePageSize(limit);
+    List<SaleSummary> sales = saleRepository.findSummaryPage(
+        pageCursor.createdAt(), pageCursor.id(), Limit.of(pageSize + 1));
+    Map<Long, List<SaleLineResponse>> linesBySale = new HashMap<>();
+
+    if (!sales.isEmpty()) {
+      for (SaleLineRow row : saleRepository.findLineRowsBySaleIdIn(sales.stream().map(SaleSummary::id).toList())) {
+        linesBySale.computeIfAbsent(row.sale().id(), ignored -> new ArrayList<>()).add(row.line());
+      }
+    }
+
+    return CursorPage.of(
+        sales,
+        pageSize,
+        sale -> new PageCursor(sale.createdAt(), sale.id()),
+        sale -> toResponse(sale, linesBySale.getOrDefault(sale.id(), List.of()))
+    );
+  }
+
+  public SaleQuoteResponse quote(CreateSaleRequest request) {
+    Map<Long, Integer> quantityByVariant = SaleQuantities.aggregate(request.lines());
+    Map<Long, ItemVariant> variantsById = mapVariantsById(variantService.findAllByIds(quantityByVariant.keySet()));
+    List<SaleQuoteLineResponse> lines = new ArrayList<>(quantityByVariant.size());
+    BigDecimal totalAmount = BigDecimal.ZERO;
+    boolean fulfillable = true;
+
+    for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+      ItemVariant variant = variantsById.get(entry.getKey());
+      SaleQuoteLineResponse line = variant == null
+          ? new SaleQuoteLineResponse(entry.getKey(), null, null, entry.getValue(), null, null, null, false,
+              "Variant with id " + entry.getKey() + " was not found")
+          : toQuoteLine(variant, entry.getValue());
+      lines.add(line);
+      fulfillable = fulfillable && line.fulfillable();
+
+      if (line.lineTotal() != null) {
+        totalAmount = totalAmount.add(line.lineTotal());
+      }
+    }
+
+    return new SaleQuoteResponse(fulfillable, totalAmount, lines);
+  }
+
+  public SaleResponse findById(Long saleId) {
+    return toResponses(saleRepository.findLineRowsBySaleId(saleId))
+        .stream()
+        .findFirst()
+        .orElseThrow(() -> new ResourceNotFoundException("Sale with id " + saleId + " was not found"));
   }
 
   private Map<Long, ItemVariant> mapVariantsById(List<ItemVariant> variants) {
@@ -91,7 +379,36 @@ public class SaleService {
     return variantsById;
   }
 
-  private void ensureAllVariantsExist(Map<Long, Integer> quantityByVariant, Map<Long, ItemVariant> variantsById) {
+  private Map<Long, VariantStock> mapStockById(List<VariantStock> stock) {
+    Map<Long, VariantStock> stockById = new LinkedHashMap<>();
+
+    for (VariantStock variantStock : stock) {
+      stockById.put(variantStock.getVariantId(), variantStock);
+    }
+
+    return stockById;
+  }
+
+  private void ensureVariantsCanBeSold(Map<Long, Integer> quantityByVariant) {
+    Map<Long, VariantAvailability> availabilityById = new LinkedHashMap<>();
+
+    for (VariantAvailability availability : variantService.findAvailabilityByIds(quantityByVariant.keySet())) {
+      availabilityById.put(availability.variantId(), availability);
+    }
+
+    ensureAllVariantsExist(quantityByVariant, availabilityById);
+
+    for (VariantAvailability availability : availabilityById.values()) {
+      ensureCanBeSold(
+          availability.variantId(),
+          availability.variantActive(),
+          availability.itemId(),
+          availability.itemActive()
+      );
+    }
+  }
+
+  private void ensureAllVariantsExist(Map<Long, Integer> quantityByVariant, Map<Long, ?> variantsById) {
     for (Long variantId : quantityByVariant.keySet()) {
       if (!variantsById.containsKey(variantId)) {
         throw new ResourceNotFoundException("Variant with id " + variantId + " was not found");
@@ -99,29 +416,175 @@ public class SaleService {
     }
   }
 
+  private Sale prepareBatchSale(
+      String reference,
+      Map<Long, Integer> quantityByVariant,
+      Map<Long, ItemVariant> variantsById,
+      Map<Long, VariantStock> stockById,
+      Set<String> claimedReferences
+  ) {
+    ensureAllVariantsExist(quantityByVariant, variantsById);
+
+    if (claimedReferences.contains(reference)) {
+      throw new BusinessRuleException("Sale reference already exists: " + reference);
+    }
+
+    boolean lockedStock = locksStockRows();
+
+    for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+      ItemVariant variant = variantsById.get(entry.getKey());
+      ensureVariantCanBeSold(variant);
+
+      if (lockedStock) {
+        stockById.get(entry.getKey()).ensureAvailable(entry.getValue());
+      }
+    }
+
+    Sale sale = new Sale(reference.isBlank() ? saleReferenceGenerator.nextReference() : reference);
+
+    Map<Long, Long> stockLeaseIds = lockedStock ? Map.of() : applyUnlockedDecrements(quantityByVariant);
+
+    for (Map.Entry<Long, Integer> entry : quantityByVariant.entrySet()) {
+      ItemVariant variant = variantsById.get(entry.getKey());
+
+      if (lockedStock) {
+        stockById.get(entry.getKey()).decrease(entry.getValue());
+      }
+
+      sale.addLine(new SaleLine(variant, entry.getValue(), stockLeaseIds.get(entry.getKey())));
+    }
+
+    claimedReferences.add(sale.getReference());
+    return sale;
+  }
+
+  private Map<Long, Long> applyUnlockedDecrements(Map<Long, Integer> quantityByVariant) {
+    if (saleProperties.stockMode() == SaleStockMode.LEASED) {
+      return stockLeasesProvider.getObject().reserve(quantityByVariant);
+    }
+
+    if (saleProperties.stockMode() == SaleStockMode.PARTITIONED) {
+      inventoryEngineProvider.getObject().reserve(quantityByVariant);
+    } else if (saleProperties.stockMode() == SaleStockMode.STRIPED) {
+      stripedStockProvider.getObject().reserve(quantityByVariant);
+    } else {
+      applyConditionalDecrements(quantityByVariant);
+    }
+
+    return Map.of();
+  }
+
+  private void applyConditionalDecrements(Map<Long, Integer> quantityByVariant) {
+    Map<Long, Integer> appliedDecrements = new LinkedHashMap<>();
+
+    for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantityByVariant).entrySet()) {
+      if (!variantService.decreaseStockIfAvailable(entry.getKey(), entry.getValue())) {
+        appliedDecrements.forEach(variantService::increaseStock);
+        ensureVariantsCanBeSold(Map.of(entry.getKey(), entry.getValue()));
+        throw new BusinessRuleException("Insufficient stock for variant " + entry.getKey() + ". Available: "
+            + variantService.stockQuantity(entry.getKey()) + ", requested: " + entry.getValue());
+      }
+
+      appliedDecrements.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private boolean locksStockRows() {
+    return saleProperties.stockMode() == SaleStockMode.LOCKING;
+  }
+
+  private Set<String> findExistingReferences(List<CreateSaleRequest> requests) {
+    Set<String> references = new HashSet<>();
+
+    for (CreateSaleRequest request : requests) {
+      String reference = normalizeReference(request.reference());
+
+      if (!reference.isBlank()) {
+        references.add(reference);
+      }
+    }
+
+    if (references.isEmpty()) {
+      return new HashSet<>();
+    }
+
+    return new HashSet<>(saleRepository.findExistingReferences(references));
+  }
+
+  private String normalizeReference(String reference) {
+    return reference == null ? "" : reference.trim();
+  }
+
   private String resolveReference(String reference) {
-    String candidate = reference == null ? "" : reference.trim();
+    String candidate = normalizeReference(reference);
 
     if (candidate.isBlank()) {
-      return "SALE-" + Instant.now().toEpochMilli() + "-" + UUID.randomUUID().toString().substring(0, 8);
+      return saleReferenceGenerator.nextReference();
     }
 
-    saleRepository.findByReference(candidate).ifPresent(existing -> {
+    if (saleReferenceFilter.mayBeTaken(candidate) && saleRepository.existsByReference(candidate)) {
       throw new BusinessRuleException("Sale reference already exists: " + candidate);
-    });
+    }
 
     return candidate;
   }
 
   private void ensureVariantCanBeSold(ItemVariant variant) {
-    if (!variant.isActive()) {
-      throw new BusinessRuleException("Variant " + variant.getId() + " is inactive and cannot be sold");
+    ensureCanBeSold(variant.getId(), variant.isActive(), variant.getItem().getId(), variant.getItem().isActive());
+  }
+
+  private void ensureCanBeSold(Long variantId, boolean variantActive, Long itemId, boolean itemActive) {
+    if (!variantActive) {
+      throw new BusinessRuleException("Variant " + variantId + " is inactive and cannot be sold");
+    }
+
+    if (!itemActive) {
+      throw new BusinessRuleException("Item " + itemId + " is inactive and cannot be sold");
     }
+  }
+
+  private SaleQuoteLineResponse toQuoteLine(ItemVariant variant, int quantity) {
+    int availableQuantity = variantService.currentStock(variant);
+    String reason = null;
 
-    if (!variant.getItem().isActive()) {
-      throw new BusinessRuleException(
-          "Item " + variant.getItem().getId() + " is inactive and cannot be sold");
+    if (!variant.isActive()) {
+      reason = "Variant " + variant.getId() + " is inactive and cannot be sold";
+    } else if (!variant.getItem().isActive()) {
+      reason = "Item " + variant.getItem().getId() + " is inactive and cannot be sold";
+    } else if (availableQuantity < quantity) {
+      reason = "Insufficient stock for variant " + variant.getId() + ". Available: " + availableQuantity
+          + ", requested: " + quantity;
     }
+
+    return new SaleQuoteLineResponse(
+        variant.getId(),
+        variant.getSku(),
+        variant.getName(),
+        quantity,
+        variant.getPrice(),
+        variant.getPrice().multiply(BigDecimal.valueOf(quantity)),
+        availableQuantity,
+        reason == null,
+        reason
+    );
+  }
+
+  private SaleResponse cache(SaleResponse sale) {
+    saleResponseCache.put(sale);
+    return sale;
+  }
+
+  private List<SaleResponse> toResponses(List<SaleLineRow> rows) {
+    Map<SaleSummary, List<SaleLineResponse>> linesBySale = new LinkedHashMap<>();
+    rows.forEach(row -> linesBySale.computeIfAbsent(row.sale(), ignored -> new ArrayList<>()).add(row.line()));
+    return linesBySale.entrySet()
+        .stream()
+        .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+        .toList();
+  }
+
+  private SaleResponse toResponse(SaleSummary sale, List<SaleLineResponse> lines) {
+    return new SaleResponse(sale.id(), sale.reference(), sale.totalAmount(), sale.createdAt(), lines);
   }
 
   private SaleResponse toResponse(Sale sale) {
@@ -129,8 +592,8 @@ public class SaleService {
         .map(line -> new SaleLineResponse(
             line.getId(),
             line.getVariant().getId(),
-            line.getVariant().getSku(),
-            line.getVariant().getName(),
+            line.getSku(),
+            line.getVariantName(),
             line.getQuantity(),
             line.getUnitPrice(),
             line.getLineTotal()
@@ -0,0 +1,47 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.common.error.ResourceBusyException;
+import com.greateastern.warehouse.variant.domain.VariantStock;
+import com.greateastern.warehouse.variant.service.VariantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SaleStockLocker {
+
+  private final VariantService variantService;
+  private final SaleProperties.Lock lock;
+  private final Timer acquiredLockWait;
+  private final Timer busyLockWait;
+
+  public SaleStockLocker(VariantService variantService, SaleProperties saleProperties, MeterRegistry meterRegistry) {
+    this.variantService = variantService;
+    this.lock = saleProperties.lock();
+    String policy = lock.policy().name().toLowerCase();
+    this.acquiredLockWait = Timer.builder("warehouse.sale.lock.wait")
+        .tag("policy", policy)
+        .tag("outcome", "acquired")
+        .register(meterRegistry);
+    this.busyLockWait = Timer.builder("warehouse.sale.lock.wait")
+        .tag("policy", policy)
+        .tag("outcome", "busy")
+        .register(meterRegistry);
+  }
+
+  public List<VariantStock> lock(Collection<Long> variantIds) {
+    long startedAt = System.nanoTime();
+
+    try {
+      List<VariantStock> lockedStock = variantService.lockStockByIds(variantIds, lock.policy(), lock.timeout());
+      acquiredLockWait.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      return lockedStock;
+    } catch (ResourceBusyException ex) {
+      busyLockWait.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.greateastern.warehouse.sale.service;
+
+public enum SaleStockMode {
+  LOCKING,
+  CONDITIONAL,
+  PARTITIONED,
+  FUNCTION,
+  STRIPED,
+  LEASED
+}
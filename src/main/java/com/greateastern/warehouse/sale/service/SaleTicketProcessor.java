@@ -0,0 +1,299 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceBusyException;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.common.error.SqlStates;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.domain.SaleFailureType;
+import com.greateastern.warehouse.sale.domain.SaleTicket;
+import com.greateastern.warehouse.sale.domain.SaleTicketRepository;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SaleTicketProcessor implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(SaleTicketProcessor.class);
+  private static final String SALE_REFERENCE_CONSTRAINT = "uk_sales_reference";
+
+  private final SaleService saleService;
+  private final SaleTicketRepository saleTicketRepository;
+  private final SaleTransactionRunner saleTransactionRunner;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final SaleProperties.Acceptance acceptance;
+  private final BlockingQueue<Long> pendingTicketIds;
+  private final Set<Long> queuedTicketIds = ConcurrentHashMap.newKeySet();
+  private ExecutorService workers;
+  private ScheduledExecutorService recoveryScheduler;
+  private volatile boolean running;
+
+  public SaleTicketProcessor(
+      SaleService saleService,
+      SaleTicketRepository saleTicketRepository,
+      SaleTransactionRunner saleTransactionRunner,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      SaleProperties saleProperties
+  ) {
+    this.saleService = saleService;
+    this.saleTicketRepository = saleTicketRepository;
+    this.saleTransactionRunner = saleTransactionRunner;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.acceptance = saleProperties.acceptance();
+    this.pendingTicketIds = new ArrayBlockingQueue<>(acceptance.queueCapacity());
+  }
+
+  public void ensureCapacity() {
+    if (!running) {
+      throw new ResourceBusyException("Asynchronous sale processing is not running");
+    }
+
+    if (pendingTicketIds.remainingCapacity() == 0) {
+      throw new ResourceBusyException("Sale ticket queue is full");
+    }
+  }
+
+  public void enqueueAfterCommit(Long ticketId) {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        if (!enqueue(ticketId)) {
+          log.warn("Sale ticket queue is full; ticket {} stays pending for recovery", ticketId);
+        }
+      }
+    });
+  }
+
+  public String writePayload(CreateSaleRequest request) {
+    try {
+      return objectMapper.writeValueAsString(request);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Failed to serialize sale request", ex);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    AtomicInteger workerIndex = new AtomicInteger();
+    workers = Executors.newFixedThreadPool(acceptance.workers(), runnable -> {
+      Thread thread = new Thread(runnable, "sale-ticket-worker-" + workerIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    recoveryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "sale-ticket-recovery");
+      thread.setDaemon(true);
+      return thread;
+    });
+    running = true;
+
+    for (int index = 0; index < acceptance.workers(); index++) {
+      workers.submit(this::drainQueue);
+    }
+
+    long recoveryMillis = acceptance.recoveryInterval().toMillis();
+    recoveryScheduler.execute(() -> enqueueStalledTickets(Instant.now()));
+    recoveryScheduler.scheduleWithFixedDelay(
+        () -> enqueueStalledTickets(Instant.now().minusMillis(recoveryMillis)),
+        recoveryMillis,
+        recoveryMillis,
+        TimeUnit.MILLISECONDS
+    );
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    recoveryScheduler.shutdownNow();
+    workers.shutdown();
+
+    try {
+      if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return acceptance.mode() == SaleAcceptanceMode.ASYNC;
+  }
+
+  private void drainQueue() {
+    while (running) {
+      try {
+        Long firstTicketId = pendingTicketIds.poll(500, TimeUnit.MILLISECONDS);
+
+        if (firstTicketId == null) {
+          continue;
+        }
+
+        List<Long> ticketIds = new ArrayList<>(acceptance.batchSize());
+        ticketIds.add(firstTicketId);
+        pendingTicketIds.drainTo(ticketIds, acceptance.batchSize() - 1);
+        queuedTicketIds.removeAll(ticketIds);
+        processTickets(ticketIds);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.warn("Sale ticket batch failed; tickets stay pending for recovery", ex);
+      }
+    }
+  }
+
+  private void processTickets(List<Long> ticketIds) {
+    try {
+      saleTransactionRunner.execute(() -> createSales(ticketIds));
+      return;
+    } catch (RuntimeException ex) {
+      if (ticketIds.size() == 1) {
+        rejectTicket(ticketIds.get(0), ex);
+        return;
+      }
+    }
+
+    for (Long ticketId : ticketIds) {
+      try {
+        saleTransactionRunner.execute(() -> createSales(List.of(ticketId)));
+      } catch (RuntimeException ex) {
+        rejectTicket(ticketId, ex);
+      }
+    }
+  }
+
+  private Void createSales(List<Long> ticketIds) {
+    List<SaleTicket> tickets = saleTicketRepository.lockPendingByIds(ticketIds);
+
+    if (tickets.isEmpty()) {
+      return null;
+    }
+
+    List<CreateSaleRequest> requests = tickets.stream().map(this::readPayload).toList();
+    List<SaleBatchResult> results = saleService.createBatchInCurrentTransaction(requests);
+
+    for (int index = 0; index < tickets.size(); index++) {
+      SaleBatchResult result = results.get(index);
+
+      if (result.isCreated()) {
+        tickets.get(index).markCreated(result.sale().id());
+      } else {
+        tickets.get(index).markRejected(classify(result.failure()), result.failure().getMessage());
+      }
+    }
+
+    return null;
+  }
+
+  private void rejectTicket(Long ticketId, RuntimeException failure) {
+    SaleFailureType failureType = classify(failure);
+
+    if (failureType == null) {
+      log.warn("Sale ticket {} failed; it stays pending for recovery", ticketId, failure);
+      transactionTemplate.executeWithoutResult(status -> saleTicketRepository.lockPendingByIds(List.of(ticketId))
+          .forEach(this::recordFailedAttempt));
+      return;
+    }
+
+    String failureReason = isReferenceConflict(failure) ? "Sale reference already exists" : failure.getMessage();
+    transactionTemplate.executeWithoutResult(status -> saleTicketRepository.lockPendingByIds(List.of(ticketId))
+        .forEach(ticket -> ticket.markRejected(failureType, failureReason)));
+  }
+
+  private void recordFailedAttempt(SaleTicket ticket) {
+    ticket.recordFailedAttempt(acceptance.maxAttempts());
+
+    if (ticket.getStatus() == SaleTicketStatus.FAILED) {
+      log.error("Sale ticket {} failed {} times; giving up", ticket.getId(), ticket.getAttempts());
+    }
+  }
+
+  private SaleFailureType classify(RuntimeException failure) {
+    if (failure instanceof ResourceNotFoundException) {
+      return SaleFailureType.NOT_FOUND;
+    }
+
+    if (failure instanceof BusinessRuleException || isReferenceConflict(failure)) {
+      return SaleFailureType.BUSINESS_RULE;
+    }
+
+    return null;
+  }
+
+  private boolean isReferenceConflict(RuntimeException failure) {
+    return failure instanceof DataIntegrityViolationException
+        && SqlStates.findUniqueViolationConstraint(failure).filter(SALE_REFERENCE_CONSTRAINT::equals).isPresent();
+  }
+
+  private CreateSaleRequest readPayload(SaleTicket ticket) {
+    try {
+      return objectMapper.readValue(ticket.getPayload(), CreateSaleRequest.class);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Failed to read payload of sale ticket " + ticket.getId(), ex);
+    }
+  }
+
+  private void enqueueStalledTickets(Instant updatedBefore) {
+    int capacity = pendingTicketIds.remainingCapacity();
+
+    if (capacity == 0) {
+      return;
+    }
+
+    try {
+      for (Long ticketId : saleTicketRepository.findPendingIdsUpdatedBefore(updatedBefore, capacity)) {
+        if (!enqueue(ticketId)) {
+          return;
+        }
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to recover pending sale tickets", ex);
+    }
+  }
+
+  private boolean enqueue(Long ticketId) {
+    if (!queuedTicketIds.add(ticketId)) {
+      return true;
+    }
+
+    if (pendingTicketIds.offer(ticketId)) {
+      return true;
+    }
+
+    queuedTicketIds.remove(ticketId);
+    return false;
+  }
+}
@@ -0,0 +1,18 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleFailureType;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import java.time.Instant;
+
+public record SaleTicketResult(
+    Long id,
+    SaleTicketStatus status,
+    String reference,
+    SaleResponse sale,
+    SaleFailureType failureType,
+    String failureReason,
+    Instant createdAt,
+    Instant updatedAt
+) {
+}
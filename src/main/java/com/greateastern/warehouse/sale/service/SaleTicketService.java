@@ -0,0 +1,69 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleTicket;
+import com.greateastern.warehouse.sale.domain.SaleTicketRepository;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class SaleTicketService {
+
+  private final SaleService saleService;
+  private final SaleTicketRepository saleTicketRepository;
+  private final SaleTicketProcessor saleTicketProcessor;
+  private final SaleProperties saleProperties;
+
+  public SaleTicketService(
+      SaleService saleService,
+      SaleTicketRepository saleTicketRepository,
+      SaleTicketProcessor saleTicketProcessor,
+      SaleProperties saleProperties
+  ) {
+    this.saleService = saleService;
+    this.saleTicketRepository = saleTicketRepository;
+    this.saleTicketProcessor = saleTicketProcessor;
+    this.saleProperties = saleProperties;
+  }
+
+  public boolean acceptsAsynchronously() {
+    return saleProperties.acceptance().mode() == SaleAcceptanceMode.ASYNC;
+  }
+
+  @Transactional
+  public SaleTicketResult submit(CreateSaleRequest request) {
+    saleTicketProcessor.ensureCapacity();
+    CreateSaleRequest acceptedRequest = saleService.prepareForAcceptance(request);
+    SaleTicket ticket = saleTicketRepository.save(
+        new SaleTicket(acceptedRequest.reference(), saleTicketProcessor.writePayload(acceptedRequest)));
+    saleTicketProcessor.enqueueAfterCommit(ticket.getId());
+    return toResult(ticket);
+  }
+
+  public SaleTicketResult findById(Long ticketId) {
+    SaleTicket ticket = saleTicketRepository.findById(ticketId)
+        .orElseThrow(() -> new ResourceNotFoundException("Sale ticket with id " + ticketId + " was not found"));
+    return toResult(ticket);
+  }
+
+  private SaleTicketResult toResult(SaleTicket ticket) {
+    SaleResponse sale = ticket.getStatus() == SaleTicketStatus.CREATED && ticket.getSaleId() != null
+        ? saleService.findById(ticket.getSaleId())
+        : null;
+
+    return new SaleTicketResult(
+        ticket.getId(),
+        ticket.getStatus(),
+        ticket.getReference(),
+        sale,
+        ticket.getFailureType(),
+        ticket.getFailureReason(),
+        ticket.getCreatedAt(),
+        ticket.getUpdatedAt()
+    );
+  }
+}
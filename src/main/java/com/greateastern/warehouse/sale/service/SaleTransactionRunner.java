@@ -0,0 +1,75 @@
+package com.greateastern.warehouse.sale.service;
+
+import com.greateastern.warehouse.common.error.SqlStates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SaleTransactionRunner {
+
+  private final TransactionTemplate transactionTemplate;
+  private final SaleProperties.Retry retry;
+  private final Counter deadlocks;
+  private final Counter serializationFailures;
+  private final Counter retries;
+  private final Counter exhaustedRetries;
+
+  public SaleTransactionRunner(
+      PlatformTransactionManager transactionManager,
+      SaleProperties saleProperties,
+      MeterRegistry meterRegistry
+  ) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.retry = saleProperties.retry();
+    this.deadlocks = meterRegistry.counter("warehouse.sale.transaction.failures", "sqlstate", SqlStates.DEADLOCK_DETECTED);
+    this.serializationFailures = meterRegistry.counter(
+        "warehouse.sale.transaction.failures", "sqlstate", SqlStates.SERIALIZATION_FAILURE);
+    this.retries = meterRegistry.counter("warehouse.sale.transaction.retries");
+    this.exhaustedRetries = meterRegistry.counter("warehouse.sale.transaction.retries.exhausted");
+  }
+
+  public <T> T execute(Supplier<T> action) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> action.get());
+      } catch (RuntimeException ex) {
+        String sqlState = SqlStates.findSqlState(ex).orElse("");
+
+        if (SqlStates.DEADLOCK_DETECTED.equals(sqlState)) {
+          deadlocks.increment();
+        } else if (SqlStates.SERIALIZATION_FAILURE.equals(sqlState)) {
+          serializationFailures.increment();
+        } else {
+          throw ex;
+        }
+
+        if (attempt >= retry.maxAttempts()) {
+          exhaustedRetries.increment();
+          throw ex;
+        }
+
+        retries.increment();
+        backOff(attempt);
+      }
+    }
+  }
+
+  private void backOff(int attempt) {
+    long ceilingMillis = Math.min(
+        retry.maxBackoff().toMillis(),
+        retry.initialBackoff().toMillis() << Math.min(attempt - 1, 16)
+    );
+
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceilingMillis + 1));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to retry sale transaction", ex);
+    }
+  }
+}
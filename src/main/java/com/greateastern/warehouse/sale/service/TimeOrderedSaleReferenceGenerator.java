@@ -0,0 +1,88 @@
+package com.greateastern.warehouse.sale.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(
+    prefix = "warehouse.sale",
+    name = "reference-generator",
+    havingValue = "time-ordered",
+    matchIfMissing = true
+)
+public class TimeOrderedSaleReferenceGenerator implements SaleReferenceGenerator {
+
+  static final long EPOCH_MILLIS = 1704067200000L;
+  static final int NODE_BITS = 10;
+  static final int SEQUENCE_BITS = 12;
+  static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+  private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final int ENCODED_LENGTH = 13;
+
+  private final long nodeId;
+  private final LongSupplier clock;
+  private final AtomicLong lastState = new AtomicLong();
+
+  @Autowired
+  public TimeOrderedSaleReferenceGenerator(SaleProperties saleProperties) {
+    this(resolveNodeId(saleProperties.referenceNodeId()), System::currentTimeMillis);
+  }
+
+  TimeOrderedSaleReferenceGenerator(int nodeId, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Sale reference node id must be between 0 and " + MAX_NODE_ID);
+    }
+
+    this.nodeId = nodeId;
+    this.clock = clock;
+  }
+
+  @Override
+  public String nextReference() {
+    return "SALE-" + encode(nextId());
+  }
+
+  long nextId() {
+    long state;
+    long nextState;
+
+    do {
+      state = lastState.get();
+      long elapsedMillis = clock.getAsLong() - EPOCH_MILLIS;
+      nextState = elapsedMillis > state >>> SEQUENCE_BITS ? elapsedMillis << SEQUENCE_BITS : state + 1;
+    } while (!lastState.compareAndSet(state, nextState));
+
+    long elapsedMillis = nextState >>> SEQUENCE_BITS;
+    long sequence = nextState & ((1L << SEQUENCE_BITS) - 1);
+    return elapsedMillis << (NODE_BITS + SEQUENCE_BITS) | nodeId << SEQUENCE_BITS | sequence;
+  }
+
+  static String encode(long id) {
+    char[] encoded = new char[ENCODED_LENGTH];
+
+    for (int index = ENCODED_LENGTH - 1; index >= 0; index--) {
+      encoded[index] = ENCODING[(int) (id & 31)];
+      id >>>= 5;
+    }
+
+    return new String(encoded);
+  }
+
+  private static int resolveNodeId(Integer configuredNodeId) {
+    if (configuredNodeId != null) {
+      return configuredNodeId;
+    }
+
+    try {
+      return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE_ID;
+    } catch (UnknownHostException ex) {
+      return 0;
+    }
+  }
+}
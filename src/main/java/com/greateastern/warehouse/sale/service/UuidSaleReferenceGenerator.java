@@ -0,0 +1,16 @@
+package com.greateastern.warehouse.sale.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "warehouse.sale", name = "reference-generator", havingValue = "uuid")
+public class UuidSaleReferenceGenerator implements SaleReferenceGenerator {
+
+  @Override
+  public String nextReference() {
+    return "SALE-" + Instant.now().toEpochMilli() + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
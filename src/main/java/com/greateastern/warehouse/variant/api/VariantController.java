@@ -2,6 +2,7 @@ package com.greateastern.warehouse.variant.api;
 
 import com.greateastern.warehouse.common.api.ApiResponse;
 import com.greateastern.warehouse.common.api.ApiResponses;
+import com.greateastern.warehouse.common.api.CursorPage;
 import com.greateastern.warehouse.variant.api.dto.CreateVariantRequest;
 import com.greateastern.warehouse.variant.api.dto.UpdateVariantRequest;
 import com.greateastern.warehouse.variant.api.dto.VariantResponse;
@@ -118,7 +119,8 @@ public class VariantController {
             \"createdAt\": \"2026-02-24T07:00:00Z\",
             \"updatedAt\": \"2026-02-24T07:00:00Z\"
           }
-        ]
+        ],
+        \"nextCursor\": \"MjAyNi0wMi0yNFQwNzowMDowMFp8MjAwMQ\"
       }
       """;
 
@@ -167,6 +169,15 @@ public class VariantController {
               description = "When true, returns only active variants",
               schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "true"),
               example = "true"
+          ),
+          @Parameter(
+              name = "cursor",
+              description = "Opaque nextCursor of the previous page; omit for the first page"
+          ),
+          @Parameter(
+              name = "limit",
+              description = "Page size; defaults to warehouse.pagination.default-page-size and is capped at max-page-size",
+              example = "50"
           )
       },
       responses = {
@@ -179,9 +190,11 @@ public class VariantController {
   )
   public ResponseEntity<ApiResponse<List<VariantResponse>>> findByItemId(
       @Parameter(example = "1001", schema = @io.swagger.v3.oas.annotations.media.Schema(defaultValue = "1001")) @PathVariable Long itemId,
-      @RequestParam(defaultValue = "true") boolean activeOnly
+      @RequestParam(defaultValue = "true") boolean activeOnly,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit
   ) {
-    List<VariantResponse> response = variantService.findByItemId(itemId, activeOnly);
+    CursorPage<VariantResponse> response = variantService.findByItemId(itemId, activeOnly, cursor, limit);
     return ResponseEntity.ok(ApiResponses.success("Variants retrieved successfully", response));
   }
 
@@ -1,7 +1,6 @@
 package com.greateastern.warehouse.variant.domain;
 
 import com.greateastern.warehouse.common.domain.AuditableEntity;
-import com.greateastern.warehouse.common.error.BusinessRuleException;
 import com.greateastern.warehouse.item.domain.Item;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,15 +10,22 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrimaryKeyJoinColumn;
+import jakarta.persistence.SecondaryTable;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import org.hibernate.annotations.SecondaryRow;
 
 @Entity
 @Table(name = "item_variants")
+@SecondaryTable(name = "variant_stock", pkJoinColumns = @PrimaryKeyJoinColumn(name = "variant_id"))
+@SecondaryRow(table = "variant_stock", owned = false)
 public class ItemVariant extends AuditableEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_variants_id_seq")
+  @SequenceGenerator(name = "item_variants_id_seq", sequenceName = "item_variants_id_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -35,7 +41,7 @@ public class ItemVariant extends AuditableEntity {
   @Column(nullable = false, precision = 16, scale = 2)
   private BigDecimal price;
 
-  @Column(nullable = false)
+  @Column(table = "variant_stock", nullable = false, insertable = false, updatable = false)
   private Integer stockQuantity;
 
   @Column(nullable = false)
@@ -44,11 +50,10 @@ public class ItemVariant extends AuditableEntity {
   protected ItemVariant() {
   }
 
-  public ItemVariant(String sku, String name, BigDecimal price, Integer stockQuantity, boolean active) {
+  public ItemVariant(String sku, String name, BigDecimal price, boolean active) {
     this.sku = sku;
     this.name = name;
     this.price = price;
-    this.stockQuantity = stockQuantity;
     this.active = active;
   }
 
@@ -84,20 +89,10 @@ public class ItemVariant extends AuditableEntity {
     this.item = item;
   }
 
-  public void update(String sku, String name, BigDecimal price, Integer stockQuantity, boolean active) {
+  public void update(String sku, String name, BigDecimal price, boolean active) {
     this.sku = sku;
     this.name = name;
     this.price = price;
-    this.stockQuantity = stockQuantity;
     this.active = active;
   }
-
-  public void decreaseStock(int quantity) {
-    if (stockQuantity < quantity) {
-      throw new BusinessRuleException(
-          "Insufficient stock for variant " + id + ". Available: " + stockQuantity + ", requested: " + quantity);
-    }
-
-    stockQuantity = stockQuantity - quantity;
-  }
 }
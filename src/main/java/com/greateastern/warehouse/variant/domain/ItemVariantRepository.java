@@ -1,24 +1,54 @@
 package com.greateastern.warehouse.variant.domain;
 
-import jakarta.persistence.LockModeType;
+import com.greateastern.warehouse.variant.api.dto.VariantResponse;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface ItemVariantRepository extends JpaRepository<ItemVariant, Long> {
 
-  List<ItemVariant> findAllByItemIdOrderByCreatedAtDesc(Long itemId);
+  String VARIANT_RESPONSE_SELECT = """
+      select new com.greateastern.warehouse.variant.api.dto.VariantResponse(
+          variant.id, variant.item.id, variant.sku, variant.name, variant.price,
+          variant.stockQuantity,
+          variant.active, variant.createdAt, variant.updatedAt)
+      from ItemVariant variant
+      """;
 
-  List<ItemVariant> findAllByItemIdAndActiveOrderByCreatedAtDesc(Long itemId, boolean active);
+  @Query(VARIANT_RESPONSE_SELECT + """
+      where variant.item.id = :itemId
+        and (:activeOnly = false or variant.active = true)
+        and (variant.createdAt, variant.id) < (:createdAt, :id)
+      order by variant.createdAt desc, variant.id desc
+      """)
+  List<VariantResponse> findResponsePageByItemId(
+      @Param("itemId") Long itemId,
+      @Param("activeOnly") boolean activeOnly,
+      @Param("createdAt") Instant createdAt,
+      @Param("id") Long id,
+      Limit limit
+  );
+
+  @Query(VARIANT_RESPONSE_SELECT + "where variant.id = :id")
+  Optional<VariantResponse> findResponseById(@Param("id") Long id);
 
   boolean existsBySku(String sku);
 
   boolean existsBySkuAndIdNot(String sku, Long id);
 
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
-  @Query("select variant from ItemVariant variant where variant.id in :ids")
-  List<ItemVariant> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+  @Query("select variant from ItemVariant variant join fetch variant.item where variant.id in :ids")
+  List<ItemVariant> findAllWithItemByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("""
+      select new com.greateastern.warehouse.variant.domain.VariantAvailability(
+          variant.id, variant.active, item.id, item.active)
+      from ItemVariant variant join variant.item item
+      where variant.id in :ids
+      """)
+  List<VariantAvailability> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,4 @@
+package com.greateastern.warehouse.variant.domain;
+
+public record VariantAvailability(Long variantId, boolean variantActive, Long itemId, boolean itemActive) {
+}
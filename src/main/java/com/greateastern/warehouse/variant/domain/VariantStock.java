@@ -0,0 +1,42 @@
+package com.greateastern.warehouse.variant.domain;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "variant_stock")
+public class VariantStock {
+
+  @Id
+  @Column(name = "variant_id")
+  private Long variantId;
+
+  @Column(nullable = false)
+  private Integer stockQuantity;
+
+  protected VariantStock() {
+  }
+
+  public Long getVariantId() {
+    return variantId;
+  }
+
+  public Integer getStockQuantity() {
+    return stockQuantity;
+  }
+
+  public void ensureAvailable(int quantity) {
+    if (stockQuantity < quantity) {
+      throw new BusinessRuleException(
+          "Insufficient stock for variant " + variantId + ". Available: " + stockQuantity + ", requested: " + quantity);
+    }
+  }
+
+  public void decrease(int quantity) {
+    ensureAvailable(quantity);
+    stockQuantity = stockQuantity - quantity;
+  }
+}
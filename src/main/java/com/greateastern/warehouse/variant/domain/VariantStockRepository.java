@@ -0,0 +1,60 @@
+package com.greateastern.warehouse.variant.domain;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface VariantStockRepository extends JpaRepository<VariantStock, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select stock from VariantStock stock where stock.variantId in :ids order by stock.variantId")
+  List<VariantStock> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+  @Query(value = "select set_config('lock_timeout', :lockTimeout, true)", nativeQuery = true)
+  String setLocalLockTimeout(@Param("lockTimeout") String lockTimeout);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "0"))
+  @Query("select stock from VariantStock stock where stock.variantId in :ids order by stock.variantId")
+  List<VariantStock> findAllByIdForUpdateNoWait(@Param("ids") Collection<Long> ids);
+
+  @Query("select stock.stockQuantity from VariantStock stock where stock.variantId = :id")
+  Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+  @Modifying
+  @Query("""
+      update VariantStock stock
+      set stock.stockQuantity = stock.stockQuantity - :quantity
+      where stock.variantId = :id
+        and stock.stockQuantity >= :quantity
+        and exists (
+          select variant.id
+          from ItemVariant variant
+          where variant.id = stock.variantId
+            and variant.active = true
+            and variant.item.active = true
+        )
+      """)
+  int decreaseStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+  @Modifying(flushAutomatically = true)
+  @Query("insert into VariantStock (variantId, stockQuantity) values (:id, :stockQuantity)")
+  int insertStock(@Param("id") Long id, @Param("stockQuantity") int stockQuantity);
+
+  @Modifying
+  @Query("update VariantStock stock set stock.stockQuantity = :stockQuantity where stock.variantId = :id")
+  int overwriteStock(@Param("id") Long id, @Param("stockQuantity") int stockQuantity);
+
+  @Modifying
+  @Query("update VariantStock stock set stock.stockQuantity = stock.stockQuantity + :quantity where stock.variantId = :id")
+  int increaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+}
@@ -0,0 +1,7 @@
+package com.greateastern.warehouse.variant.service;
+
+public enum VariantLockPolicy {
+  WAIT,
+  TIMEOUT,
+  NOWAIT
+}
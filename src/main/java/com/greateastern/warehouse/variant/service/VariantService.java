@@ -1,7 +1,15 @@
 package com.greateastern.warehouse.variant.service;
 
+import com.greateastern.warehouse.common.api.CursorPage;
+import com.greateastern.warehouse.common.api.PageCursor;
+import com.greateastern.warehouse.common.api.PaginationProperties;
 import com.greateastern.warehouse.common.error.ConflictException;
+import com.greateastern.warehouse.common.error.ResourceBusyException;
 import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.common.error.SqlStates;
+import com.greateastern.warehouse.inventory.service.InventoryEngine;
+import com.greateastern.warehouse.inventory.service.StockLeases;
+import com.greateastern.warehouse.inventory.service.StripedStock;
 import com.greateastern.warehouse.item.domain.Item;
 import com.greateastern.warehouse.item.service.ItemService;
 import com.greateastern.warehouse.variant.api.dto.CreateVariantRequest;
@@ -9,10 +17,21 @@ import com.greateastern.warehouse.variant.api.dto.UpdateVariantRequest;
 import com.greateastern.warehouse.variant.api.dto.VariantResponse;
 import com.greateastern.warehouse.variant.domain.ItemVariant;
 import com.greateastern.warehouse.variant.domain.ItemVariantRepository;
+import com.greateastern.warehouse.variant.domain.VariantAvailability;
+import com.greateastern.warehouse.variant.domain.VariantStock;
+import com.greateastern.warehouse.variant.domain.VariantStockRepository;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional(readOnly = true)
@@ -20,10 +39,28 @@ public class VariantService {
 
   private final ItemService itemService;
   private final ItemVariantRepository itemVariantRepository;
+  private final VariantStockRepository variantStockRepository;
+  private final PaginationProperties paginationProperties;
+  private final ObjectProvider<InventoryEngine> inventoryEngineProvider;
+  private final ObjectProvider<StripedStock> stripedStockProvider;
+  private final ObjectProvider<StockLeases> stockLeasesProvider;
 
-  public VariantService(ItemService itemService, ItemVariantRepository itemVariantRepository) {
+  public VariantService(
+      ItemService itemService,
+      ItemVariantRepository itemVariantRepository,
+      VariantStockRepository variantStockRepository,
+      PaginationProperties paginationProperties,
+      ObjectProvider<InventoryEngine> inventoryEngineProvider,
+      ObjectProvider<StripedStock> stripedStockProvider,
+      ObjectProvider<StockLeases> stockLeasesProvider
+  ) {
     this.itemService = itemService;
     this.itemVariantRepository = itemVariantRepository;
+    this.variantStockRepository = variantStockRepository;
+    this.paginationProperties = paginationProperties;
+    this.inventoryEngineProvider = inventoryEngineProvider;
+    this.stripedStockProvider = stripedStockProvider;
+    this.stockLeasesProvider = stockLeasesProvider;
   }
 
   @Transactional
@@ -34,27 +71,30 @@ public class VariantService {
         request.sku().trim(),
         request.name().trim(),
         request.price(),
-        request.stockQuantity(),
         toActive(request.active())
     );
     item.addVariant(variant);
     ItemVariant savedVariant = itemVariantRepository.save(variant);
-    return toResponse(savedVariant);
+    variantStockRepository.insertStock(savedVariant.getId(), request.stockQuantity());
+    return toResponse(savedVariant, request.stockQuantity());
   }
 
-  public List<VariantResponse> findByItemId(Long itemId, boolean activeOnly) {
-    itemService.getItemEntity(itemId);
-    List<ItemVariant> variants = activeOnly
-        ? itemVariantRepository.findAllByItemIdAndActiveOrderByCreatedAtDesc(itemId, true)
-        : itemVariantRepository.findAllByItemIdOrderByCreatedAtDesc(itemId);
-    return variants
-        .stream()
-        .map(this::toResponse)
-        .toList();
+  public CursorPage<VariantResponse> findByItemId(Long itemId, boolean activeOnly, String cursor, Integer limit) {
+    itemService.ensureItemExists(itemId);
+    PageCursor pageCursor = PageCursor.decode(cursor);
+    int pageSize = paginationProperties.resolvePageSize(limit);
+    return CursorPage.of(
+        withCurrentStock(itemVariantRepository.findResponsePageByItemId(
+            itemId, activeOnly, pageCursor.createdAt(), pageCursor.id(), Limit.of(pageSize + 1))),
+        pageSize,
+        variant -> new PageCursor(variant.createdAt(), variant.id())
+    );
   }
 
   public VariantResponse findById(Long variantId) {
-    return toResponse(getVariantEntity(variantId));
+    VariantResponse variant = itemVariantRepository.findResponseById(variantId)
+        .orElseThrow(() -> new ResourceNotFoundException("Variant with id " + variantId + " was not found"));
+    return withCurrentStock(List.of(variant)).get(0);
   }
 
   @Transactional
@@ -65,16 +105,30 @@ public class VariantService {
         request.sku().trim(),
         request.name().trim(),
         request.price(),
-        request.stockQuantity(),
         toActive(request.active())
     );
-    return toResponse(variant);
+    variantStockRepository.overwriteStock(variantId, request.stockQuantity());
+    StripedStock stripedStock = stripedStockProvider.getIfAvailable();
+
+    if (stripedStock != null) {
+      stripedStock.resetStock(variantId);
+    }
+
+    StockLeases stockLeases = stockLeasesProvider.getIfAvailable();
+
+    if (stockLeases != null) {
+      stockLeases.revoke(variantId);
+    }
+
+    afterCommit(inventoryEngine -> inventoryEngine.overwrite(variantId, request.stockQuantity()));
+    return toResponse(variant, request.stockQuantity());
   }
 
   @Transactional
   public void delete(Long variantId) {
     ItemVariant variant = getVariantEntity(variantId);
     itemVariantRepository.delete(variant);
+    afterCommit(inventoryEngine -> inventoryEngine.evict(variantId));
   }
 
   public ItemVariant getVariantEntity(Long variantId) {
@@ -83,24 +137,147 @@ public class VariantService {
   }
 
   @Transactional
-  public List<ItemVariant> lockByIds(Collection<Long> variantIds) {
-    return itemVariantRepository.findAllByIdForUpdate(variantIds);
+  public List<VariantStock> lockStockByIds(
+      Collection<Long> variantIds,
+      VariantLockPolicy lockPolicy,
+      Duration lockTimeout
+  ) {
+    try {
+      return switch (lockPolicy) {
+        case WAIT -> variantStockRepository.findAllByIdForUpdate(variantIds);
+        case NOWAIT -> variantStockRepository.findAllByIdForUpdateNoWait(variantIds);
+        case TIMEOUT -> {
+          variantStockRepository.setLocalLockTimeout(lockTimeout.toMillis() + "ms");
+          yield variantStockRepository.findAllByIdForUpdate(variantIds);
+        }
+      };
+    } catch (PessimisticLockingFailureException ex) {
+      if (SqlStates.findSqlState(ex).filter(SqlStates.LOCK_NOT_AVAILABLE::equals).isPresent()) {
+        throw new ResourceBusyException("Variants " + variantIds + " are locked by concurrent sales", ex);
+      }
+
+      throw ex;
+    }
+  }
+
+  public List<ItemVariant> findAllByIds(Collection<Long> variantIds) {
+    return itemVariantRepository.findAllWithItemByIdIn(variantIds);
+  }
+
+  public List<VariantAvailability> findAvailabilityByIds(Collection<Long> variantIds) {
+    return itemVariantRepository.findAvailabilityByIdIn(variantIds);
+  }
+
+  public Integer currentStock(ItemVariant variant) {
+    InventoryEngine inventoryEngine = inventoryEngineProvider.getIfAvailable();
+
+    if (inventoryEngine != null) {
+      return inventoryEngine.currentStock(variant.getId()).orElse(variant.getStockQuantity());
+    }
+
+    return variant.getStockQuantity() + additionalStock(List.of(variant.getId())).getOrDefault(variant.getId(), 0);
+  }
+
+  public int stockQuantity(Long variantId) {
+    return variantStockRepository.findStockQuantityById(variantId).orElse(0);
+  }
+
+  @Transactional
+  public boolean decreaseStockIfAvailable(Long variantId, int quantity) {
+    return variantStockRepository.decreaseStockIfAvailable(variantId, quantity) == 1;
+  }
+
+  @Transactional
+  public void increaseStock(Long variantId, int quantity) {
+    variantStockRepository.increaseStock(variantId, quantity);
   }
 
-  private VariantResponse toResponse(ItemVariant variant) {
+  private void afterCommit(Consumer<InventoryEngine> action) {
+    InventoryEngine inventoryEngine = inventoryEngineProvider.getIfAvailable();
+
+    if (inventoryEngine == null) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.accept(inventoryEngine);
+      }
+    });
+  }
+
+  private VariantResponse toResponse(ItemVariant variant, Integer stockQuantity) {
     return new VariantResponse(
         variant.getId(),
         variant.getItem().getId(),
         variant.getSku(),
         variant.getName(),
         variant.getPrice(),
-        variant.getStockQuantity(),
+        stockQuantity,
         variant.isActive(),
         variant.getCreatedAt(),
         variant.getUpdatedAt()
     );
   }
 
+  private List<VariantResponse> withCurrentStock(List<VariantResponse> variants) {
+    InventoryEngine inventoryEngine = inventoryEngineProvider.getIfAvailable();
+
+    if (inventoryEngine != null) {
+      return variants.stream()
+          .map(variant -> inventoryEngine.currentStock(variant.id())
+              .map(stockQuantity -> withStockQuantity(variant, stockQuantity))
+              .orElse(variant))
+          .toList();
+    }
+
+    Map<Long, Integer> additionalStockByVariant = additionalStock(variants.stream().map(VariantResponse::id).toList());
+
+    if (additionalStockByVariant.isEmpty()) {
+      return variants;
+    }
+
+    return variants.stream()
+        .map(variant -> withStockQuantity(
+            variant, variant.stockQuantity() + additionalStockByVariant.getOrDefault(variant.id(), 0)))
+        .toList();
+  }
+
+  private Map<Long, Integer> additionalStock(Collection<Long> variantIds) {
+    if (variantIds.isEmpty()) {
+      return Map.of();
+    }
+
+    StripedStock stripedStock = stripedStockProvider.getIfAvailable();
+
+    if (stripedStock != null) {
+      return stripedStock.bucketStock(variantIds);
+    }
+
+    StockLeases stockLeases = stockLeasesProvider.getIfAvailable();
+
+    if (stockLeases != null) {
+      return stockLeases.leasedStock(variantIds);
+    }
+
+    return Map.of();
+  }
+
+  private VariantResponse withStockQuantity(VariantResponse variant, Integer stockQuantity) {
+    return new VariantResponse(
+        variant.id(),
+        variant.itemId(),
+        variant.sku(),
+        variant.name(),
+        variant.price(),
+        stockQuantity,
+        variant.active(),
+        variant.createdAt(),
+        variant.updatedAt()
+    );
+  }
+
   private boolean toActive(Boolean active) {
     return active == null || active;
   }
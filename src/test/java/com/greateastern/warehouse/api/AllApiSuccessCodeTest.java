@@ -8,29 +8,47 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.greateastern.warehouse.common.api.CursorPage;
 import com.greateastern.warehouse.common.error.GlobalExceptionHandler;
 import com.greateastern.warehouse.item.api.ItemController;
 import com.greateastern.warehouse.item.api.dto.CreateItemRequest;
 import com.greateastern.warehouse.item.api.dto.ItemResponse;
 import com.greateastern.warehouse.item.api.dto.UpdateItemRequest;
 import com.greateastern.warehouse.item.service.ItemService;
+import com.greateastern.warehouse.reservation.api.ReservationController;
+import com.greateastern.warehouse.reservation.api.dto.CreateReservationRequest;
+import com.greateastern.warehouse.reservation.api.dto.ReservationLineResponse;
+import com.greateastern.warehouse.reservation.api.dto.ReservationResponse;
+import com.greateastern.warehouse.reservation.service.ReservationService;
 import com.greateastern.warehouse.sale.api.SaleController;
 import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
 import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleQuoteLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleQuoteResponse;
 import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import com.greateastern.warehouse.sale.service.SaleBatchResult;
+import com.greateastern.warehouse.sale.service.SaleIdempotencyService;
+import com.greateastern.warehouse.sale.service.SaleProperties;
+import com.greateastern.warehouse.sale.service.SaleResponseCache;
 import com.greateastern.warehouse.sale.service.SaleService;
+import com.greateastern.warehouse.sale.service.SaleTicketResult;
+import com.greateastern.warehouse.sale.service.SaleTicketService;
 import com.greateastern.warehouse.variant.api.VariantController;
 import com.greateastern.warehouse.variant.api.dto.CreateVariantRequest;
 import com.greateastern.warehouse.variant.api.dto.UpdateVariantRequest;
 import com.greateastern.warehouse.variant.api.dto.VariantResponse;
 import com.greateastern.warehouse.variant.service.VariantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 
 class AllApiSuccessCodeTest {
 
@@ -72,15 +90,39 @@ class AllApiSuccessCodeTest {
       ))
   );
 
+  private static final ReservationResponse RESERVATION_RESPONSE = new ReservationResponse(
+      6001L,
+      "HELD",
+      "",
+      Instant.parse("2026-02-24T07:15:00Z"),
+      null,
+      List.of(new ReservationLineResponse(2001L, 1)),
+      Instant.parse("2026-02-24T07:05:00Z"),
+      Instant.parse("2026-02-24T07:05:00Z")
+  );
+
   private MockMvc mockMvc;
 
   @BeforeEach
   void setUp() {
     ItemController itemController = new ItemController(new StubItemService());
     VariantController variantController = new VariantController(new StubVariantService());
-    SaleController saleController = new SaleController(new StubSaleService());
-
-    mockMvc = MockMvcBuilders.standaloneSetup(itemController, variantController, saleController)
+    SaleController saleController = new SaleController(
+        new StubSaleService(),
+        new StubSaleTicketService(),
+        new StubSaleIdempotencyService(),
+        new SaleResponseCache(
+            Jackson2ObjectMapperBuilder.json().build(),
+            new SaleProperties(
+                null, null, null, null, null, null, null, null, new SaleProperties.ResponseCache(true, DataSize.ofMegabytes(1)), null),
+            new SimpleMeterRegistry()
+        ),
+        null
+    );
+
+    ReservationController reservationController = new ReservationController(new StubReservationService());
+
+    mockMvc = MockMvcBuilders.standaloneSetup(itemController, variantController, saleController, reservationController)
         .setControllerAdvice(new GlobalExceptionHandler())
         .build();
   }
@@ -151,11 +193,65 @@ class AllApiSuccessCodeTest {
         .andExpect(status().isCreated())
         .andExpect(jsonPath("$.code").value("00"));
 
+    mockMvc.perform(post("/api/sales")
+            .header("Idempotency-Key", "checkout-7f3a")
+            .contentType(APPLICATION_JSON)
+            .content("""
+                {"reference":"","lines":[{"variantId":2001,"quantity":1}]}
+                """))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.code").value("00"));
+
+    mockMvc.perform(post("/api/sales/batch")
+            .contentType(APPLICATION_JSON)
+            .content("""
+                {"sales":[{"reference":"","lines":[{"variantId":2001,"quantity":1}]}]}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("00"))
+        .andExpect(jsonPath("$.data.results[0].status").value("CREATED"));
+
+    mockMvc.perform(post("/api/sales/quote")
+            .contentType(APPLICATION_JSON)
+            .content("""
+                {"reference":"","lines":[{"variantId":2001,"quantity":1}]}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("00"))
+        .andExpect(jsonPath("$.data.fulfillable").value(true));
+
     mockMvc.perform(get("/api/sales").param("reference", "MIG-SEED-SALE-3001"))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.code").value("00"));
 
     mockMvc.perform(get("/api/sales/{saleId}", 3001))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("00"))
+        .andExpect(jsonPath("$.data.id").value(3001));
+
+    mockMvc.perform(get("/api/sales/tickets/{ticketId}", 5001))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("00"))
+        .andExpect(jsonPath("$.data.status").value("CREATED"));
+
+    mockMvc.perform(post("/api/reservations")
+            .contentType(APPLICATION_JSON)
+            .content("""
+                {"reference":"","lines":[{"variantId":2001,"quantity":1}]}
+                """))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.code").value("00"))
+        .andExpect(jsonPath("$.data.status").value("HELD"));
+
+    mockMvc.perform(get("/api/reservations/{reservationId}", 6001))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value("00"));
+
+    mockMvc.perform(post("/api/reservations/{reservationId}/confirm", 6001))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.code").value("00"));
+
+    mockMvc.perform(post("/api/reservations/{reservationId}/cancel", 6001))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.code").value("00"));
   }
@@ -163,7 +259,7 @@ class AllApiSuccessCodeTest {
   private static final class StubItemService extends ItemService {
 
     private StubItemService() {
-      super(null);
+      super(null, null);
     }
 
     @Override
@@ -172,8 +268,8 @@ class AllApiSuccessCodeTest {
     }
 
     @Override
-    public List<ItemResponse> findAll(boolean activeOnly) {
-      return List.of(ITEM_RESPONSE);
+    public CursorPage<ItemResponse> findAll(boolean activeOnly, String cursor, Integer limit) {
+      return CursorPage.last(List.of(ITEM_RESPONSE));
     }
 
     @Override
@@ -195,7 +291,7 @@ class AllApiSuccessCodeTest {
   private static final class StubVariantService extends VariantService {
 
     private StubVariantService() {
-      super(null, null);
+      super(null, null, null, null, null, null, null);
     }
 
     @Override
@@ -204,8 +300,8 @@ class AllApiSuccessCodeTest {
     }
 
     @Override
-    public List<VariantResponse> findByItemId(Long itemId, boolean activeOnly) {
-      return List.of(VARIANT_RESPONSE);
+    public CursorPage<VariantResponse> findByItemId(Long itemId, boolean activeOnly, String cursor, Integer limit) {
+      return CursorPage.last(List.of(VARIANT_RESPONSE));
     }
 
     @Override
@@ -227,7 +323,7 @@ class AllApiSuccessCodeTest {
   private static final class StubSaleService extends SaleService {
 
     private StubSaleService() {
-      super(null, null);
+      super(null, null, null, null, null, null, null, null, null, null, null, null, null);
     }
 
     @Override
@@ -236,8 +332,28 @@ class AllApiSuccessCodeTest {
     }
 
     @Override
-    public List<SaleResponse> findAll(String reference) {
-      return List.of(SALE_RESPONSE);
+    public List<SaleBatchResult> createBatch(List<CreateSaleRequest> requests) {
+      return List.of(SaleBatchResult.created(0, SALE_RESPONSE));
+    }
+
+    @Override
+    public SaleQuoteResponse quote(CreateSaleRequest request) {
+      return new SaleQuoteResponse(true, new BigDecimal("129.90"), List.of(new SaleQuoteLineResponse(
+          2001L,
+          "MIG-SEED-A-RED-42",
+          "Seed Variant A Red 42",
+          1,
+          new BigDecimal("129.90"),
+          new BigDecimal("129.90"),
+          48,
+          true,
+          null
+      )));
+    }
+
+    @Override
+    public CursorPage<SaleResponse> findAll(String reference, String cursor, Integer limit) {
+      return CursorPage.last(List.of(SALE_RESPONSE));
     }
 
     @Override
@@ -245,4 +361,69 @@ class AllApiSuccessCodeTest {
       return SALE_RESPONSE;
     }
   }
+
+  private static final class StubSaleIdempotencyService extends SaleIdempotencyService {
+
+    private StubSaleIdempotencyService() {
+      super(null, null, null, null, new SaleProperties(null, null, null, null, null, null, null, new SaleProperties.Idempotency(1), null, null));
+    }
+
+    @Override
+    public SaleResponse create(String idempotencyKey, CreateSaleRequest request) {
+      return SALE_RESPONSE;
+    }
+  }
+
+  private static final class StubSaleTicketService extends SaleTicketService {
+
+    private StubSaleTicketService() {
+      super(null, null, null, null);
+    }
+
+    @Override
+    public boolean acceptsAsynchronously() {
+      return false;
+    }
+
+    @Override
+    public SaleTicketResult findById(Long ticketId) {
+      return new SaleTicketResult(
+          5001L,
+          SaleTicketStatus.CREATED,
+          SALE_RESPONSE.reference(),
+          SALE_RESPONSE,
+          null,
+          null,
+          Instant.parse("2026-02-24T07:05:00Z"),
+          Instant.parse("2026-02-24T07:05:01Z")
+      );
+    }
+  }
+
+  private static final class StubReservationService extends ReservationService {
+
+    private StubReservationService() {
+      super(null, null, null);
+    }
+
+    @Override
+    public ReservationResponse create(CreateReservationRequest request) {
+      return RESERVATION_RESPONSE;
+    }
+
+    @Override
+    public ReservationResponse findById(Long reservationId) {
+      return RESERVATION_RESPONSE;
+    }
+
+    @Override
+    public SaleResponse confirm(Long reservationId) {
+      return SALE_RESPONSE;
+    }
+
+    @Override
+    public ReservationResponse cancel(Long reservationId) {
+      return RESERVATION_RESPONSE;
+    }
+  }
 }
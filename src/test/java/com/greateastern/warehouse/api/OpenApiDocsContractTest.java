@@ -8,8 +8,11 @@ import com.greateastern.warehouse.config.OpenApiConfiguration;
 import com.greateastern.warehouse.config.OpenApiDocsController;
 import com.greateastern.warehouse.item.api.ItemController;
 import com.greateastern.warehouse.item.service.ItemService;
+import com.greateastern.warehouse.reservation.api.ReservationController;
+import com.greateastern.warehouse.reservation.service.ReservationService;
 import com.greateastern.warehouse.sale.api.SaleController;
 import com.greateastern.warehouse.sale.service.SaleService;
+import com.greateastern.warehouse.sale.service.SaleTicketService;
 import com.greateastern.warehouse.variant.api.VariantController;
 import com.greateastern.warehouse.variant.service.VariantService;
 import org.junit.jupiter.api.Test;
@@ -36,12 +39,22 @@ class OpenApiDocsContractTest {
     assertHasQueryParameter(operation(root, "/api/items", "get"), "activeOnly");
     assertHasQueryParameter(operation(root, "/api/items/{itemId}/variants", "get"), "activeOnly");
     assertHasQueryParameter(operation(root, "/api/sales", "get"), "reference");
+    assertHasQueryParameter(operation(root, "/api/items", "get"), "cursor");
+    assertHasQueryParameter(operation(root, "/api/items/{itemId}/variants", "get"), "cursor");
+    assertHasQueryParameter(operation(root, "/api/sales", "get"), "cursor");
+    assertHasQueryParameter(operation(root, "/api/sales", "get"), "limit");
+    assertHasQueryParameter(operation(root, "/api/sales/export", "get"), "format");
+    assertHasQueryParameter(operation(root, "/api/sales/export", "get"), "from");
+    assertHasQueryParameter(operation(root, "/api/sales/export", "get"), "to");
 
     assertHasRequestBody(operation(root, "/api/items", "post"));
     assertHasRequestBody(operation(root, "/api/items/{itemId}", "put"));
     assertHasRequestBody(operation(root, "/api/items/{itemId}/variants", "post"));
     assertHasRequestBody(operation(root, "/api/variants/{variantId}", "put"));
     assertHasRequestBody(operation(root, "/api/sales", "post"));
+    assertHasRequestBody(operation(root, "/api/sales/batch", "post"));
+    assertHasRequestBody(operation(root, "/api/sales/quote", "post"));
+    assertHasRequestBody(operation(root, "/api/reservations", "post"));
 
     assertResponseCode(operation(root, "/api/items", "post"), "201", "00");
     assertResponseCode(operation(root, "/api/items", "get"), "200", "00");
@@ -54,19 +67,33 @@ class OpenApiDocsContractTest {
     assertResponseCode(operation(root, "/api/variants/{variantId}", "put"), "200", "00");
     assertResponseCode(operation(root, "/api/variants/{variantId}", "delete"), "200", "00");
     assertResponseCode(operation(root, "/api/sales", "post"), "201", "00");
+    assertResponseCode(operation(root, "/api/sales/batch", "post"), "200", "00");
+    assertResponseCode(operation(root, "/api/sales/quote", "post"), "200", "00");
     assertResponseCode(operation(root, "/api/sales", "get"), "200", "00");
     assertResponseCode(operation(root, "/api/sales/{saleId}", "get"), "200", "00");
+    assertResponseCode(operation(root, "/api/sales", "post"), "202", "09");
+    assertResponseCode(operation(root, "/api/sales/tickets/{ticketId}", "get"), "200", "00");
+    assertResponseCode(operation(root, "/api/reservations", "post"), "201", "00");
+    assertResponseCode(operation(root, "/api/reservations/{reservationId}", "get"), "200", "00");
+    assertResponseCode(operation(root, "/api/reservations/{reservationId}/confirm", "post"), "201", "00");
+    assertResponseCode(operation(root, "/api/reservations/{reservationId}/cancel", "post"), "200", "00");
   }
 
   private OpenApiDocsController createOpenApiDocsController() throws Exception {
-    ItemService itemService = new ItemService(null);
-    VariantService variantService = new VariantService(itemService, null);
-    SaleService saleService = new SaleService(null, variantService);
+    ItemService itemService = new ItemService(null, null);
+    VariantService variantService = new VariantService(itemService, null, null, null, null, null, null);
+    SaleService saleService = new SaleService(null, variantService, null, null, null, null, null, null, null, null, null, null, null);
+    SaleTicketService saleTicketService = new SaleTicketService(saleService, null, null, null);
 
     GenericApplicationContext context = new GenericApplicationContext();
     context.registerBean("itemController", ItemController.class, () -> new ItemController(itemService));
     context.registerBean("variantController", VariantController.class, () -> new VariantController(variantService));
-    context.registerBean("saleController", SaleController.class, () -> new SaleController(saleService));
+    context.registerBean("saleController", SaleController.class, () -> new SaleController(saleService, saleTicketService, null, null, null));
+    context.registerBean(
+        "reservationController",
+        ReservationController.class,
+        () -> new ReservationController(new ReservationService(null, saleService, null))
+    );
     context.refresh();
 
     RequestMappingHandlerMapping requestMappingHandlerMapping = new RequestMappingHandlerMapping();
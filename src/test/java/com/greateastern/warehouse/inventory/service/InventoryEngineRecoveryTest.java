@@ -0,0 +1,169 @@
+package com.greateastern.warehouse.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.inventory.domain.VariantStockStore;
+import com.greateastern.warehouse.support.NoOpTransactionManager;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class InventoryEngineRecoveryTest {
+
+  private static final long VARIANT_ID = 2001L;
+  private static final long OTHER_VARIANT_ID = 2002L;
+
+  @TempDir
+  Path journalDirectory;
+
+  private final InMemoryVariantStockStore variantStockStore = new InMemoryVariantStockStore();
+  private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+  private final List<InventoryEngine> startedEngines = new ArrayList<>();
+  private InventoryEngine inventoryEngine;
+
+  @BeforeEach
+  void setUp() {
+    variantStockStore.stockByVariant.put(VARIANT_ID, 47);
+    variantStockStore.stockByVariant.put(OTHER_VARIANT_ID, 16);
+    inventoryEngine = startEngine();
+  }
+
+  @AfterEach
+  void tearDown() {
+    startedEngines.forEach(InventoryEngine::stop);
+  }
+
+  @Test
+  void shouldApplyHoldOfSaleThatCommittedBeforeCrash() {
+    holdWithoutCompletion(101L, Map.of(VARIANT_ID, 5, OTHER_VARIANT_ID, 2));
+    variantStockStore.committedTransactionIds.add(101L);
+
+    inventoryEngine = startEngine();
+
+    assertThat(variantStockStore.stockByVariant).containsEntry(VARIANT_ID, 42).containsEntry(OTHER_VARIANT_ID, 14);
+  }
+
+  @Test
+  void shouldDiscardHoldOfSaleThatNeverCommitted() {
+    holdWithoutCompletion(102L, Map.of(VARIANT_ID, 5));
+
+    inventoryEngine = startEngine();
+
+    assertThat(variantStockStore.stockByVariant).containsEntry(VARIANT_ID, 47);
+  }
+
+  @Test
+  void shouldNotApplyResolvedHoldTwice() {
+    variantStockStore.nextTransactionId = 103L;
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> inventoryEngine.reserve(Map.of(VARIANT_ID, 5)));
+    variantStockStore.committedTransactionIds.add(103L);
+
+    inventoryEngine = startEngine();
+
+    assertThat(variantStockStore.stockByVariant).containsEntry(VARIANT_ID, 42);
+  }
+
+  @Test
+  void shouldApplyStagedReleaseOfCommittedTransaction() {
+    variantStockStore.nextTransactionId = 104L;
+    withSynchronization(() -> inventoryEngine.release(Map.of(VARIANT_ID, 3)));
+    variantStockStore.committedTransactionIds.add(104L);
+
+    inventoryEngine = startEngine();
+
+    assertThat(variantStockStore.stockByVariant).containsEntry(VARIANT_ID, 50);
+  }
+
+  @Test
+  void shouldKeepOpenHoldsAcrossFailedFlush() {
+    holdWithoutCompletion(105L, Map.of(VARIANT_ID, 5));
+    variantStockStore.failWrites = true;
+    assertThatThrownBy(inventoryEngine::flush).isInstanceOf(IllegalStateException.class);
+    variantStockStore.failWrites = false;
+    variantStockStore.committedTransactionIds.add(105L);
+
+    inventoryEngine = startEngine();
+
+    assertThat(variantStockStore.stockByVariant).containsEntry(VARIANT_ID, 42);
+  }
+
+  private void holdWithoutCompletion(long transactionId, Map<Long, Integer> quantityByVariant) {
+    variantStockStore.nextTransactionId = transactionId;
+    withSynchronization(() -> inventoryEngine.reserve(quantityByVariant));
+  }
+
+  private void withSynchronization(Runnable action) {
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      action.run();
+    } finally {
+      TransactionSynchronizationManager.clear();
+      TransactionSynchronizationManager.unbindResourceIfPossible(inventoryEngine);
+    }
+  }
+
+  private InventoryEngine startEngine() {
+    InventoryEngine engine = new InventoryEngine(
+        variantStockStore,
+        new InventoryProperties(2, journalDirectory, false, Duration.ofHours(1), null, null),
+        transactionManager
+    );
+    engine.start();
+    startedEngines.add(engine);
+    return engine;
+  }
+
+  private static class InMemoryVariantStockStore extends VariantStockStore {
+
+    private final Map<Long, Integer> stockByVariant = new HashMap<>();
+    private final Set<Long> committedTransactionIds = new HashSet<>();
+    private long nextTransactionId;
+    private boolean failWrites;
+
+    InMemoryVariantStockStore() {
+      super(null, null);
+    }
+
+    @Override
+    public Map<Long, Integer> loadStock(Collection<Long> variantIds) {
+      Map<Long, Integer> loadedStock = new HashMap<>();
+      variantIds.forEach(variantId -> loadedStock.put(variantId, stockByVariant.get(variantId)));
+      return loadedStock;
+    }
+
+    @Override
+    public long currentTransactionId() {
+      return nextTransactionId;
+    }
+
+    @Override
+    public Set<Long> findCommittedTransactionIds(Collection<Long> transactionIds) {
+      Set<Long> committedIds = new HashSet<>(transactionIds);
+      committedIds.retainAll(committedTransactionIds);
+      return committedIds;
+    }
+
+    @Override
+    public void writeStock(Map<Long, Integer> updatedStock) {
+      if (failWrites) {
+        throw new IllegalStateException("Database unavailable");
+      }
+
+      stockByVariant.putAll(updatedStock);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package com.greateastern.warehouse.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.inventory.domain.StockLeaseStore;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+class StockLeasesTest {
+
+  private static final int INITIAL_STOCK = 200;
+
+  private final AtomicInteger saleCount = new AtomicInteger();
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private StockLeaseStore stockLeaseStore;
+  private String testId;
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(PostgresTestDatabase.dataSource());
+    jdbcTemplate = new JdbcTemplate(transactionManager.getDataSource());
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    stockLeaseStore = new StockLeaseStore(jdbcTemplate);
+    testId = "LEASE-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, INITIAL_STOCK);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldConserveStockAcrossNodesAndReclaimExpiredLeases() throws Exception {
+    StockLeases activeNode = stockLeases(testId + "-A", Duration.ofMinutes(10), Duration.ofMinutes(5));
+    StockLeases crashedNode = stockLeases(testId + "-B", Duration.ofMillis(800), Duration.ofMillis(200));
+    activeNode.start();
+    AtomicInteger committedUnits = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> sales = new ArrayList<>();
+
+    for (int index = 0; index < 60; index++) {
+      StockLeases node = index % 2 == 0 ? activeNode : crashedNode;
+      int quantity = 1 + index % 3;
+      boolean rolledBack = index % 7 == 0;
+      sales.add(executor.submit(() -> sell(node, quantity, rolledBack, committedUnits)));
+    }
+
+    for (Future<?> sale : sales) {
+      sale.get();
+    }
+
+    executor.shutdown();
+    assertThat(committedUnits.get()).isPositive();
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(committedUnits.get());
+    assertThat(leaseCount(testId + "-B")).isEqualTo(1);
+    assertStockConserved();
+
+    Thread.sleep(1000);
+    assertThat(stockLeaseStore.reclaimExpired()).isPositive();
+    assertThat(leaseCount(testId + "-B")).isZero();
+    assertThat(leaseCount(testId + "-A")).isEqualTo(1);
+    assertStockConserved();
+
+    activeNode.stop();
+    assertThat(leaseCount(testId + "-A")).isZero();
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId))
+        .isEqualTo(INITIAL_STOCK - committedUnits.get());
+  }
+
+  @Test
+  void shouldStopSellingFromLeaseThatWasNotRenewed() throws Exception {
+    StockLeases node = stockLeases(testId + "-A", Duration.ofMillis(800), Duration.ofMillis(200));
+    AtomicInteger committedUnits = new AtomicInteger();
+    sell(node, 1, false, committedUnits);
+    int leasedUnits = leasedUnits();
+
+    Thread.sleep(700);
+    sell(node, 1, false, committedUnits);
+
+    assertThat(leasedUnits()).isEqualTo(leasedUnits);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM public.sale_lines WHERE variant_id = ? AND stock_lease_id IS NULL", Integer.class, variantId))
+        .isEqualTo(1);
+    assertStockConserved();
+  }
+
+  @Test
+  void shouldChargeSalesMadeAfterRevocationWhenRevokedLeaseIsReturned() {
+    StockLeases adminNode = stockLeases(testId + "-A", Duration.ofMinutes(10), Duration.ofMinutes(5));
+    StockLeases sellingNode = stockLeases(testId + "-B", Duration.ofMinutes(10), Duration.ofMinutes(5));
+    adminNode.start();
+    sellingNode.start();
+    AtomicInteger committedUnits = new AtomicInteger();
+    sell(sellingNode, 2, false, committedUnits);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      jdbcTemplate.update("UPDATE public.variant_stock SET stock_quantity = 50 WHERE variant_id = ?", variantId);
+      adminNode.revoke(variantId);
+    });
+    assertThat(adminNode.leasedStock(List.of(variantId))).isEmpty();
+
+    sell(sellingNode, 3, false, committedUnits);
+    sellingNode.stop();
+    adminNode.stop();
+
+    assertThat(leaseCount(testId + "-B")).isZero();
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(47);
+  }
+
+  @Test
+  void shouldReportLeaseAndSharedStockWhenLeaseIsExhausted() {
+    jdbcTemplate.update("UPDATE public.variant_stock SET stock_quantity = 4 WHERE variant_id = ?", variantId);
+    StockLeases node = stockLeases(testId + "-A", Duration.ofMinutes(10), Duration.ofMinutes(5));
+    AtomicInteger committedUnits = new AtomicInteger();
+    sell(node, 3, false, committedUnits);
+
+    assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> node.reserve(Map.of(variantId, 2))))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Insufficient stock for variant " + variantId
+            + ". Left on this node's lease: 0, available to lease: 1, requested: 2");
+    assertThat(committedUnits).hasValue(3);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(1);
+  }
+
+  private void sell(StockLeases node, int quantity, boolean rolledBack, AtomicInteger committedUnits) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        Long leaseId = node.reserve(Map.of(variantId, quantity)).get(variantId);
+        PostgresTestDatabase.recordSale(
+            jdbcTemplate, testId + "-SALE-" + saleCount.incrementAndGet(), variantId, quantity, leaseId);
+
+        if (rolledBack) {
+          status.setRollbackOnly();
+        }
+      });
+
+      if (!rolledBack) {
+        committedUnits.addAndGet(quantity);
+      }
+    } catch (BusinessRuleException ex) {
+      return;
+    }
+  }
+
+  private void assertStockConserved() {
+    int homeStock = PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId);
+    int soldUnits = PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId);
+    assertThat(homeStock + leasedUnits() + soldUnits).isEqualTo(INITIAL_STOCK);
+  }
+
+  private int leasedUnits() {
+    return jdbcTemplate.queryForObject("""
+        SELECT COALESCE(SUM(lease.quantity - (
+          SELECT COALESCE(SUM(line.quantity), 0)
+          FROM public.sale_lines line
+          WHERE line.stock_lease_id = lease.lease_id
+        )), 0)
+        FROM public.variant_stock_leases lease
+        WHERE lease.variant_id = ?
+        """, Integer.class, variantId);
+  }
+
+  private int leaseCount(String nodeId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM public.variant_stock_leases WHERE variant_id = ? AND node_id = ?",
+        Integer.class,
+        variantId,
+        nodeId
+    );
+  }
+
+  private StockLeases stockLeases(String nodeId, Duration ttl, Duration renewInterval) {
+    InventoryProperties inventoryProperties = new InventoryProperties(
+        1, null, false, Duration.ofSeconds(1), null, new InventoryProperties.Leasing(nodeId, 10, ttl, renewInterval));
+    return new StockLeases(stockLeaseStore, inventoryProperties);
+  }
+}
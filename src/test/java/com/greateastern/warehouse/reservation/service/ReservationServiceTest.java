@@ -0,0 +1,83 @@
+package com.greateastern.warehouse.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.reservation.api.dto.CreateReservationRequest;
+import com.greateastern.warehouse.reservation.api.dto.ReservationResponse;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.service.SaleService;
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@PostgresIntegrationTest
+class ReservationServiceTest {
+
+  @Autowired
+  private ReservationService reservationService;
+
+  @Autowired
+  private SaleService saleService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String testId;
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    testId = "RESERVATION-REF-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, 5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldRejectReferenceOfExistingSaleBeforeTakingStock() {
+    saleService.create(new CreateSaleRequest(testId, List.of(new CreateSaleLineRequest(variantId, 1))));
+
+    assertThatThrownBy(() -> reservationService.create(request(testId)))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Sale reference already exists: " + testId);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(4);
+  }
+
+  @Test
+  void shouldRejectReferenceHeldByAnotherReservation() {
+    reservationService.create(request(testId));
+
+    assertThatThrownBy(() -> reservationService.create(request(testId)))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Sale reference is already held by another reservation: " + testId);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldGenerateReferenceWhenHoldIsPlacedAndKeepItOnConfirm() {
+    ReservationResponse reservation = reservationService.create(request(" "));
+
+    assertThat(reservation.reference()).isNotBlank();
+
+    SaleResponse sale = reservationService.confirm(reservation.id());
+
+    assertThat(sale.reference()).isEqualTo(reservation.reference());
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(2);
+  }
+
+  private CreateReservationRequest request(String reference) {
+    return new CreateReservationRequest(reference, List.of(new CreateSaleLineRequest(variantId, 2)));
+  }
+}
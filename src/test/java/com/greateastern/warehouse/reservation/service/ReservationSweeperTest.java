@@ -0,0 +1,78 @@
+package com.greateastern.warehouse.reservation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.reservation.api.dto.CreateReservationRequest;
+import com.greateastern.warehouse.reservation.api.dto.ReservationResponse;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@PostgresIntegrationTest
+class ReservationSweeperTest {
+
+  @Autowired
+  private ReservationService reservationService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String testId;
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    testId = "RESERVATION-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, 5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldExpireUnconfirmedHoldAndReturnItsStock() {
+    ReservationResponse reservation = reservationService.create(new CreateReservationRequest(
+        testId,
+        List.of(new CreateSaleLineRequest(variantId, 2), new CreateSaleLineRequest(variantId, 1))
+    ));
+
+    assertThat(reservation.status()).isEqualTo("HELD");
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(2);
+
+    await().atMost(Duration.ofSeconds(10))
+        .until(() -> reservationService.findById(reservation.id()).status().equals("EXPIRED"));
+
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(5);
+    assertThatThrownBy(() -> reservationService.confirm(reservation.id()))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Reservation " + reservation.id() + " is expired and cannot be confirmed");
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isZero();
+  }
+
+  @Test
+  void shouldKeepConfirmedReservationAfterTtl() throws Exception {
+    ReservationResponse reservation = reservationService.create(new CreateReservationRequest(
+        testId,
+        List.of(new CreateSaleLineRequest(variantId, 2))
+    ));
+    reservationService.confirm(reservation.id());
+
+    Thread.sleep(1500);
+
+    assertThat(reservationService.findById(reservation.id()).status()).isEqualTo("CONFIRMED");
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(3);
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(2);
+  }
+}
@@ -0,0 +1,69 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+@PostgresIntegrationTest
+class SaleBatchEndpointTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String testId;
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    testId = "BATCH-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, 5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldCreateAcceptedSalesAndReportEachRejection() throws Exception {
+    String body = """
+        {"sales": [
+          {"reference": "%1$s-1", "lines": [{"variantId": %2$d, "quantity": 2}]},
+          {"reference": "%1$s-2", "lines": [{"variantId": 999999999, "quantity": 1}]},
+          {"reference": "%1$s-3", "lines": [{"variantId": %2$d, "quantity": 4}]},
+          {"reference": "%1$s-4", "lines": [{"variantId": %2$d, "quantity": 3}]}
+        ]}
+        """.formatted(testId, variantId);
+
+    mockMvc.perform(post("/api/sales/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.createdCount").value(2))
+        .andExpect(jsonPath("$.data.rejectedCount").value(2))
+        .andExpect(jsonPath("$.data.results[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.data.results[0].sale.reference").value(testId + "-1"))
+        .andExpect(jsonPath("$.data.results[1].status").value("REJECTED"))
+        .andExpect(jsonPath("$.data.results[1].failure.what").value("Resource not found"))
+        .andExpect(jsonPath("$.data.results[2].status").value("REJECTED"))
+        .andExpect(jsonPath("$.data.results[2].failure.what").value("Business rule violation"))
+        .andExpect(jsonPath("$.data.results[2].failure.why").value(containsString("variant " + variantId)))
+        .andExpect(jsonPath("$.data.results[3].status").value("CREATED"));
+
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isZero();
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(5);
+  }
+}
@@ -0,0 +1,108 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@PostgresIntegrationTest
+class SaleConditionalDecrementTest {
+
+  private static final int STOCK = 10;
+  private static final int BUYERS = 24;
+
+  @Autowired
+  private SaleService saleService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private long variantId;
+  private long otherVariantId;
+
+  @BeforeEach
+  void setUp() {
+    String testId = "CONDITIONAL-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, STOCK);
+    otherVariantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId + "-OTHER", 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, otherVariantId);
+  }
+
+  @Test
+  void shouldNeverSellMoreThanStockUnderConcurrency() throws Exception {
+    ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> sales = new ArrayList<>();
+
+    for (int buyer = 0; buyer < BUYERS; buyer++) {
+      sales.add(buyers.submit(() -> {
+        start.await();
+        return sell(List.of(new CreateSaleLineRequest(variantId, 1)));
+      }));
+    }
+
+    start.countDown();
+    int created = 0;
+
+    for (Future<Boolean> sale : sales) {
+      created += sale.get(30, TimeUnit.SECONDS) ? 1 : 0;
+    }
+
+    buyers.shutdown();
+    assertThat(created).isEqualTo(STOCK);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isZero();
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(STOCK);
+  }
+
+  @Test
+  void shouldRevertEarlierDecrementsWhenLaterVariantIsShort() {
+    boolean created = sell(List.of(
+        new CreateSaleLineRequest(variantId, 3),
+        new CreateSaleLineRequest(otherVariantId, 2)
+    ));
+
+    assertThat(created).isFalse();
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(STOCK);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, otherVariantId)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportAvailableStockWhenDecrementIsRefused() {
+    assertThatThrownBy(() -> saleService.create(new CreateSaleRequest("", List.of(
+        new CreateSaleLineRequest(variantId, 3),
+        new CreateSaleLineRequest(otherVariantId, 2)
+    ))))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Insufficient stock for variant " + otherVariantId + ". Available: 1, requested: 2");
+  }
+
+  private boolean sell(List<CreateSaleLineRequest> lines) {
+    try {
+      saleService.create(new CreateSaleRequest("", lines));
+      return true;
+    } catch (BusinessRuleException ex) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greateastern.warehouse.item.domain.Item;
+import com.greateastern.warehouse.sale.domain.Sale;
+import com.greateastern.warehouse.sale.domain.SaleExportStore;
+import com.greateastern.warehouse.sale.domain.SaleLine;
+import com.greateastern.warehouse.variant.domain.ItemVariant;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Sql(statements = {
+    "CREATE TABLE IF NOT EXISTS variant_stock_buckets (variant_id BIGINT, bucket INTEGER, stock_quantity INTEGER)",
+    "CREATE TABLE IF NOT EXISTS variant_stock_leases (variant_id BIGINT, node_id VARCHAR(100), quantity INTEGER)"
+})
+class SaleExportServiceTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private SaleExportService saleExportService;
+  private Instant startedAt;
+
+  @BeforeEach
+  void setUp() {
+    saleExportService = new SaleExportService(
+        new SaleExportStore(jdbcTemplate),
+        objectMapper,
+        new SaleProperties(null, null, null, null, null, null, null, null, null, new SaleProperties.Export(2))
+    );
+    startedAt = Instant.now().minusSeconds(1);
+    Item item = new Item("Export Item", "Item for export", true);
+    ItemVariant plain = new ItemVariant("EXPORT-PLAIN", "Plain Variant", new BigDecimal("10.00"), true);
+    ItemVariant quoted = new ItemVariant("EXPORT-QUOTED", "Variant, \"Quoted\"", new BigDecimal("2.50"), true);
+    item.addVariant(plain);
+    item.addVariant(quoted);
+    entityManager.persist(item);
+
+    for (int index = 0; index < 3; index++) {
+      Sale sale = new Sale("EXPORT-SALE-" + index);
+      sale.addLine(new SaleLine(plain, 1));
+      sale.addLine(new SaleLine(quoted, 2));
+      entityManager.persist(sale);
+    }
+
+    entityManager.flush();
+  }
+
+  @Test
+  void shouldStreamOneNdjsonLinePerSaleAcrossFetches() throws IOException {
+    String[] lines = export("ndjson", null, null).split("\n");
+
+    assertThat(lines).hasSize(3);
+
+    for (int index = 0; index < lines.length; index++) {
+      JsonNode sale = objectMapper.readTree(lines[index]);
+      assertThat(sale.path("reference").asText()).isEqualTo("EXPORT-SALE-" + index);
+      assertThat(sale.path("totalAmount").decimalValue()).isEqualByComparingTo("15.00");
+      assertThat(sale.path("lines")).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldStreamOneCsvRowPerSaleLineWithQuotedFields() throws IOException {
+    List<String> rows = List.of(export("csv", null, null).split("\r\n"));
+
+    assertThat(rows).hasSize(7);
+    assertThat(rows.get(0)).startsWith("sale_id,reference,total_amount,created_at,line_id");
+    assertThat(rows.get(2)).contains(",EXPORT-QUOTED,\"Variant, \"\"Quoted\"\"\",2,2.50,5.00");
+  }
+
+  @Test
+  void shouldOnlyExportSalesCreatedWithinRange() throws IOException {
+    assertThat(export("ndjson", startedAt.toString(), null).split("\n")).hasSize(3);
+    assertThat(export("ndjson", null, startedAt.toString())).isEmpty();
+  }
+
+  private String export(String format, String from, String to) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    saleExportService.write(SaleExport.of(format, from, to), outputStream);
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
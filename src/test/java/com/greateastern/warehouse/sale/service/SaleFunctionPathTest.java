@@ -0,0 +1,163 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.api.PaginationProperties;
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceNotFoundException;
+import com.greateastern.warehouse.inventory.service.InventoryEngine;
+import com.greateastern.warehouse.inventory.service.StockLeases;
+import com.greateastern.warehouse.inventory.service.StripedStock;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleRepository;
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import com.greateastern.warehouse.variant.service.VariantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@PostgresIntegrationTest
+class SaleFunctionPathTest {
+
+  @Autowired
+  private SaleRepository saleRepository;
+
+  @Autowired
+  private VariantService variantService;
+
+  @Autowired
+  private SaleReferenceGenerator saleReferenceGenerator;
+
+  @Autowired
+  private SaleReferenceFilter saleReferenceFilter;
+
+  @Autowired
+  private PaginationProperties paginationProperties;
+
+  @Autowired
+  private SaleStockLocker saleStockLocker;
+
+  @Autowired
+  private SaleResponseCache saleResponseCache;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ObjectProvider<InventoryEngine> inventoryEngineProvider;
+
+  @Autowired
+  private ObjectProvider<StripedStock> stripedStockProvider;
+
+  @Autowired
+  private ObjectProvider<StockLeases> stockLeasesProvider;
+
+  @Autowired
+  private ObjectProvider<SaleGroupCommitter> saleGroupCommitterProvider;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private SaleService saleService;
+  private String testId;
+  private long variantId;
+  private long otherVariantId;
+
+  @BeforeEach
+  void setUp() {
+    testId = "FUNCTION-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, 5);
+    otherVariantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId + "-OTHER", 1);
+    saleService = functionSaleService();
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, otherVariantId);
+  }
+
+  @Test
+  void shouldCreateSaleAndDecrementStockInOneFunctionCall() {
+    SaleResponse sale = saleService.create(new CreateSaleRequest(testId, List.of(
+        new CreateSaleLineRequest(variantId, 2),
+        new CreateSaleLineRequest(otherVariantId, 1),
+        new CreateSaleLineRequest(variantId, 1)
+    )));
+
+    assertThat(sale.reference()).isEqualTo(testId);
+    assertThat(sale.lines()).extracting(line -> line.variantId()).containsExactlyInAnyOrder(variantId, otherVariantId);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(2);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, otherVariantId)).isZero();
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldRejectInsufficientStockWithoutChangingAnyVariant() {
+    assertThatThrownBy(() -> saleService.create(new CreateSaleRequest(testId, List.of(
+        new CreateSaleLineRequest(variantId, 2),
+        new CreateSaleLineRequest(otherVariantId, 2)
+    ))))
+        .isInstanceOf(BusinessRuleException.class)
+        .hasMessage("Insufficient stock for variant %d. Available: 1, requested: 2".formatted(otherVariantId));
+
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(5);
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, otherVariantId)).isEqualTo(1);
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isZero();
+  }
+
+  @Test
+  void shouldRejectUnknownVariant() {
+    long unknownVariantId = Long.MAX_VALUE;
+
+    assertThatThrownBy(() -> saleService.create(new CreateSaleRequest(testId, List.of(
+        new CreateSaleLineRequest(variantId, 1),
+        new CreateSaleLineRequest(unknownVariantId, 1)
+    ))))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessage("Variant with id %d was not found".formatted(unknownVariantId));
+
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(5);
+  }
+
+  private SaleService functionSaleService() {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.FUNCTION,
+        null,
+        null,
+        new SaleProperties.Retry(1, Duration.ofMillis(1), Duration.ofMillis(1)),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+    return new SaleService(
+        saleRepository,
+        variantService,
+        saleReferenceGenerator,
+        saleReferenceFilter,
+        saleProperties,
+        paginationProperties,
+        new SaleTransactionRunner(transactionManager, saleProperties, new SimpleMeterRegistry()),
+        saleStockLocker,
+        saleResponseCache,
+        inventoryEngineProvider,
+        stripedStockProvider,
+        stockLeasesProvider,
+        saleGroupCommitterProvider
+    );
+  }
+}
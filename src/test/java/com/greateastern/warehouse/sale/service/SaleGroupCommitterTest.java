@@ -0,0 +1,197 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.greateastern.warehouse.common.error.BusinessRuleException;
+import com.greateastern.warehouse.common.error.ResourceBusyException;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+class SaleGroupCommitterTest {
+
+  private final List<List<String>> committedGroups = new CopyOnWriteArrayList<>();
+  private final AtomicLong nextSaleId = new AtomicLong(1);
+  private final AtomicBoolean failNextCommit = new AtomicBoolean();
+  private final CountDownLatch groupStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseGroup = new CountDownLatch(1);
+  private final ExecutorService callers = Executors.newFixedThreadPool(4);
+  private Predicate<String> blocksOn = reference -> false;
+  private Predicate<String> rejects = reference -> false;
+  private SaleGroupCommitter saleGroupCommitter;
+
+  @AfterEach
+  void tearDown() {
+    releaseGroup.countDown();
+
+    if (saleGroupCommitter != null && saleGroupCommitter.isRunning()) {
+      saleGroupCommitter.stop();
+    }
+
+    callers.shutdownNow();
+  }
+
+  @Test
+  void shouldCoalesceConcurrentSalesIntoOneGroup() throws Exception {
+    startCommitter(Duration.ofMillis(300), Duration.ofSeconds(5));
+
+    List<Future<SaleResponse>> sales = submitAll("SALE-A", "SALE-B", "SALE-C");
+
+    for (Future<SaleResponse> sale : sales) {
+      assertThat(sale.get(5, TimeUnit.SECONDS).id()).isNotNull();
+    }
+
+    assertThat(committedGroups).hasSize(1);
+    assertThat(committedGroups.get(0)).containsExactlyInAnyOrder("SALE-A", "SALE-B", "SALE-C");
+  }
+
+  @Test
+  void shouldRetryOnlyAcceptedSalesAloneWhenGroupCommitFails() throws Exception {
+    rejects = "SALE-B"::equals;
+    failNextCommit.set(true);
+    startCommitter(Duration.ofMillis(300), Duration.ofSeconds(5));
+
+    List<Future<SaleResponse>> sales = submitAll("SALE-A", "SALE-B", "SALE-C");
+
+    assertThat(sales.get(0).get(5, TimeUnit.SECONDS).reference()).isEqualTo("SALE-A");
+    assertThat(sales.get(2).get(5, TimeUnit.SECONDS).reference()).isEqualTo("SALE-C");
+    assertThatThrownBy(() -> sales.get(1).get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(BusinessRuleException.class);
+    assertThat(committedGroups).hasSize(3);
+    assertThat(committedGroups.subList(1, 3)).containsExactlyInAnyOrder(List.of("SALE-A"), List.of("SALE-C"));
+  }
+
+  @Test
+  void shouldTellWhetherTimedOutSaleWasPickedUp() throws Exception {
+    blocksOn = "SALE-SLOW"::equals;
+    startCommitter(Duration.ZERO, Duration.ofMillis(300));
+
+    Future<SaleResponse> slowSale = submitAll("SALE-SLOW").get(0);
+    assertThat(groupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> saleGroupCommitter.submit(request("SALE-QUEUED")))
+        .isInstanceOf(ResourceBusyException.class)
+        .hasMessageContaining("did not pick up the sale");
+    assertThatThrownBy(() -> slowSale.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(ResourceBusyException.class)
+        .hasMessageContaining("the sale may still be created");
+  }
+
+  @Test
+  void shouldFailQueuedSalesWhenStoppedAndRejectNewOnes() throws Exception {
+    blocksOn = "SALE-SLOW"::equals;
+    startCommitter(Duration.ZERO, Duration.ofSeconds(10));
+    Future<SaleResponse> slowSale = submitAll("SALE-SLOW").get(0);
+    assertThat(groupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    Future<SaleResponse> queuedSale = submitAll("SALE-QUEUED").get(0);
+
+    Future<?> stopping = callers.submit(() -> saleGroupCommitter.stop());
+    await().atMost(Duration.ofSeconds(5)).until(() -> !saleGroupCommitter.isRunning());
+    releaseGroup.countDown();
+    stopping.get(5, TimeUnit.SECONDS);
+
+    assertThat(slowSale.get(5, TimeUnit.SECONDS).reference()).isEqualTo("SALE-SLOW");
+    assertThatThrownBy(() -> queuedSale.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("stopped before the sale was processed");
+    assertThatThrownBy(() -> saleGroupCommitter.submit(request("SALE-LATE")))
+        .isInstanceOf(ResourceBusyException.class)
+        .hasMessageContaining("not running");
+  }
+
+  private List<Future<SaleResponse>> submitAll(String... references) {
+    List<Future<SaleResponse>> sales = new ArrayList<>();
+
+    for (String reference : references) {
+      sales.add(callers.submit(() -> saleGroupCommitter.submit(request(reference))));
+    }
+
+    return sales;
+  }
+
+  private CreateSaleRequest request(String reference) {
+    return new CreateSaleRequest(reference, List.of(new CreateSaleLineRequest(2001L, 1)));
+  }
+
+  private void startCommitter(Duration window, Duration timeout) {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.CONDITIONAL,
+        null,
+        null,
+        new SaleProperties.Retry(1, Duration.ofMillis(1), Duration.ofMillis(1)),
+        null,
+        null,
+        new SaleProperties.GroupCommit(true, window, 10, 1, timeout),
+        null,
+        null,
+        null
+    );
+    NoOpTransactionManager transactionManager = new NoOpTransactionManager() {
+      @Override
+      protected void doCommit(DefaultTransactionStatus status) {
+        if (failNextCommit.getAndSet(false)) {
+          throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+        }
+      }
+    };
+    saleGroupCommitter = new SaleGroupCommitter(
+        saleService(),
+        new SaleTransactionRunner(transactionManager, saleProperties, new SimpleMeterRegistry()),
+        saleProperties
+    );
+    saleGroupCommitter.start();
+  }
+
+  private SaleService saleService() {
+    SaleService saleService = mock(SaleService.class);
+    when(saleService.createBatchInCurrentTransaction(anyList())).thenAnswer(invocation -> {
+      List<CreateSaleRequest> requests = invocation.getArgument(0);
+      committedGroups.add(requests.stream().map(CreateSaleRequest::reference).toList());
+
+      if (requests.stream().map(CreateSaleRequest::reference).anyMatch(blocksOn)) {
+        groupStarted.countDown();
+        releaseGroup.await();
+      }
+
+      List<SaleBatchResult> results = new ArrayList<>();
+
+      for (int index = 0; index < requests.size(); index++) {
+        String reference = requests.get(index).reference();
+        results.add(rejects.test(reference)
+            ? SaleBatchResult.rejected(index, reference, new BusinessRuleException("Insufficient stock"))
+            : SaleBatchResult.created(index, new SaleResponse(
+                nextSaleId.getAndIncrement(), reference, BigDecimal.TEN, Instant.now(), List.of())));
+      }
+
+      return results;
+    });
+    return saleService;
+  }
+}
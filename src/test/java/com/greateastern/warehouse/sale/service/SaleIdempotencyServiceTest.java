@@ -0,0 +1,198 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greateastern.warehouse.common.error.ConflictException;
+import com.greateastern.warehouse.common.error.SqlStates;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleIdempotencyKey;
+import com.greateastern.warehouse.sale.domain.SaleIdempotencyKeyRepository;
+import com.greateastern.warehouse.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class SaleIdempotencyServiceTest {
+
+  private static final String KEY = "order-42";
+
+  private final Map<String, SaleIdempotencyKey> storedKeys = new ConcurrentHashMap<>();
+  private final Map<Long, SaleResponse> salesById = new ConcurrentHashMap<>();
+  private final List<Long> committedSaleIds = new CopyOnWriteArrayList<>();
+  private final AtomicLong nextSaleId = new AtomicLong(1);
+  private final ExecutorService callers = Executors.newFixedThreadPool(2);
+  private CyclicBarrier saleBarrier;
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void shouldReturnCachedSaleForReplayedKey() {
+    SaleIdempotencyService saleIdempotencyService = idempotencyService();
+
+    SaleResponse firstSale = saleIdempotencyService.create(KEY, request(2));
+    SaleResponse replayedSale = saleIdempotencyService.create(KEY, request(2));
+
+    assertThat(replayedSale).isEqualTo(firstSale);
+    assertThat(committedSaleIds).containsExactly(firstSale.id());
+  }
+
+  @Test
+  void shouldReturnStoredSaleForKeyUsedOnAnotherNode() {
+    SaleResponse firstSale = idempotencyService().create(KEY, request(2));
+
+    SaleResponse replayedSale = idempotencyService().create(KEY, request(2));
+
+    assertThat(replayedSale).isEqualTo(firstSale);
+    assertThat(committedSaleIds).containsExactly(firstSale.id());
+  }
+
+  @Test
+  void shouldRejectKeyReusedForDifferentRequest() {
+    SaleIdempotencyService saleIdempotencyService = idempotencyService();
+    saleIdempotencyService.create(KEY, request(2));
+
+    assertThatThrownBy(() -> saleIdempotencyService.create(KEY, request(3)))
+        .isInstanceOf(ConflictException.class)
+        .hasMessageContaining("already used for a different sale request");
+    assertThatThrownBy(() -> idempotencyService().create(KEY, request(3)))
+        .isInstanceOf(ConflictException.class);
+    assertThat(committedSaleIds).hasSize(1);
+  }
+
+  @Test
+  void shouldCreateOneSaleForConcurrentRequestsOnSameNode() throws Exception {
+    SaleIdempotencyService saleIdempotencyService = idempotencyService();
+
+    List<SaleResponse> sales = createConcurrently(saleIdempotencyService, saleIdempotencyService);
+
+    assertThat(sales.get(0)).isEqualTo(sales.get(1));
+    assertThat(committedSaleIds).containsExactly(sales.get(0).id());
+  }
+
+  @Test
+  void shouldCreateOneSaleForConcurrentRequestsOnDifferentNodes() throws Exception {
+    saleBarrier = new CyclicBarrier(2);
+
+    List<SaleResponse> sales = createConcurrently(idempotencyService(), idempotencyService());
+
+    assertThat(sales.get(0)).isEqualTo(sales.get(1));
+    assertThat(committedSaleIds).containsExactly(sales.get(0).id());
+  }
+
+  private List<SaleResponse> createConcurrently(SaleIdempotencyService first, SaleIdempotencyService second)
+      throws Exception {
+    Future<SaleResponse> firstSale = callers.submit(() -> first.create(KEY, request(2)));
+    Future<SaleResponse> secondSale = callers.submit(() -> second.create(KEY, request(2)));
+    return List.of(firstSale.get(5, TimeUnit.SECONDS), secondSale.get(5, TimeUnit.SECONDS));
+  }
+
+  private CreateSaleRequest request(int quantity) {
+    return new CreateSaleRequest("", List.of(new CreateSaleLineRequest(2001L, quantity)));
+  }
+
+  private SaleIdempotencyService idempotencyService() {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.CONDITIONAL,
+        null,
+        null,
+        new SaleProperties.Retry(1, Duration.ofMillis(1), Duration.ofMillis(1)),
+        null,
+        null,
+        null,
+        new SaleProperties.Idempotency(100),
+        null,
+        null
+    );
+    return new SaleIdempotencyService(
+        saleService(),
+        saleIdempotencyKeyRepository(),
+        new SaleTransactionRunner(new NoOpTransactionManager(), saleProperties, new SimpleMeterRegistry()),
+        new ObjectMapper(),
+        saleProperties
+    );
+  }
+
+  private SaleService saleService() {
+    SaleService saleService = mock(SaleService.class);
+    when(saleService.createInCurrentTransaction(any())).thenAnswer(invocation -> {
+      CreateSaleRequest request = invocation.getArgument(0);
+      SaleResponse sale = new SaleResponse(
+          nextSaleId.getAndIncrement(),
+          "SALE-" + request.lines().get(0).quantity(),
+          BigDecimal.TEN,
+          Instant.now(),
+          List.of()
+      );
+      salesById.put(sale.id(), sale);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status == STATUS_COMMITTED) {
+            committedSaleIds.add(sale.id());
+          }
+        }
+      });
+
+      if (saleBarrier != null) {
+        saleBarrier.await(5, TimeUnit.SECONDS);
+      }
+
+      return sale;
+    });
+    when(saleService.findById(anyLong())).thenAnswer(invocation -> salesById.get(invocation.<Long>getArgument(0)));
+    return saleService;
+  }
+
+  private SaleIdempotencyKeyRepository saleIdempotencyKeyRepository() {
+    SaleIdempotencyKeyRepository saleIdempotencyKeyRepository = mock(SaleIdempotencyKeyRepository.class);
+    when(saleIdempotencyKeyRepository.findById(anyString()))
+        .thenAnswer(invocation -> Optional.ofNullable(storedKeys.get(invocation.<String>getArgument(0))));
+    when(saleIdempotencyKeyRepository.insert(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+      SaleIdempotencyKey storedKey = mock(SaleIdempotencyKey.class);
+      when(storedKey.getRequestHash()).thenReturn(invocation.getArgument(1));
+      when(storedKey.getSaleId()).thenReturn(invocation.getArgument(2));
+
+      if (storedKeys.putIfAbsent(invocation.getArgument(0), storedKey) != null) {
+        throw new DataIntegrityViolationException("duplicate key", new ConstraintViolationException(
+            "duplicate key",
+            new SQLException("duplicate key", SqlStates.UNIQUE_VIOLATION),
+            "pk_sale_idempotency_keys"
+        ));
+      }
+
+      return 1;
+    });
+    return saleIdempotencyKeyRepository;
+  }
+}
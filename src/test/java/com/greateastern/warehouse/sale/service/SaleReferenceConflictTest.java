@@ -0,0 +1,56 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+@PostgresIntegrationTest
+class SaleReferenceConflictTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String testId;
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    testId = "REFERENCE-TEST-" + System.nanoTime();
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId, 5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldTranslateReferenceConflictFromAnotherNodeAndRollBackStock() throws Exception {
+    PostgresTestDatabase.recordSale(jdbcTemplate, testId, variantId, 1, null);
+    String body = """
+        {"reference": "%s", "lines": [{"variantId": %d, "quantity": 2}]}
+        """.formatted(testId, variantId);
+
+    mockMvc.perform(post("/api/sales").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.message.what").value("Business rule violation"))
+        .andExpect(jsonPath("$.message.why").value("Sale reference already exists"));
+
+    assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, variantId)).isEqualTo(5);
+    assertThat(PostgresTestDatabase.soldQuantity(jdbcTemplate, variantId)).isEqualTo(1);
+  }
+}
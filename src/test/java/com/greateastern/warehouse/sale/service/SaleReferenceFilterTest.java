@@ -0,0 +1,72 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.greateastern.warehouse.sale.domain.SaleRepository;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class SaleReferenceFilterTest {
+
+  private final SaleRepository saleRepository = mock(SaleRepository.class);
+
+  @Test
+  void shouldTreatEveryReferenceAsTakenUntilLoaded() {
+    SaleReferenceFilter saleReferenceFilter = filter(true);
+    when(saleRepository.streamAllReferences()).thenReturn(Stream.of("SALE-1"));
+
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-1")).isTrue();
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-2")).isTrue();
+
+    saleReferenceFilter.load();
+
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-1")).isTrue();
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-2")).isFalse();
+  }
+
+  @Test
+  void shouldKeepReferencesOfSalesCreatedBeforeAndDuringLoad() {
+    SaleReferenceFilter saleReferenceFilter = filter(true);
+    saleReferenceFilter.add("SALE-BEFORE-LOAD");
+    when(saleRepository.streamAllReferences())
+        .thenReturn(Stream.of("SALE-1").peek(reference -> saleReferenceFilter.add("SALE-DURING-LOAD")));
+
+    saleReferenceFilter.load();
+
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-BEFORE-LOAD")).isTrue();
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-DURING-LOAD")).isTrue();
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-AFTER-LOAD")).isFalse();
+
+    saleReferenceFilter.add("SALE-AFTER-LOAD");
+
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-AFTER-LOAD")).isTrue();
+  }
+
+  @Test
+  void shouldNotLoadWhenDisabled() {
+    SaleReferenceFilter saleReferenceFilter = filter(false);
+
+    saleReferenceFilter.load();
+
+    assertThat(saleReferenceFilter.isEnabled()).isFalse();
+    assertThat(saleReferenceFilter.mayBeTaken("SALE-1")).isFalse();
+  }
+
+  private SaleReferenceFilter filter(boolean enabled) {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.CONDITIONAL,
+        null,
+        new SaleProperties.ReferenceFilter(enabled, 1000, 0.001),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+    return new SaleReferenceFilter(saleRepository, saleProperties);
+  }
+}
@@ -0,0 +1,175 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.greateastern.warehouse.common.api.PaginationProperties;
+import com.greateastern.warehouse.item.domain.Item;
+import com.greateastern.warehouse.sale.api.dto.SaleLineResponse;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.Sale;
+import com.greateastern.warehouse.sale.domain.SaleLine;
+import com.greateastern.warehouse.sale.domain.SaleRepository;
+import com.greateastern.warehouse.variant.domain.ItemVariant;
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(statements = {
+    "CREATE TABLE IF NOT EXISTS variant_stock_buckets (variant_id BIGINT, bucket INTEGER, stock_quantity INTEGER)",
+    "CREATE TABLE IF NOT EXISTS variant_stock_leases (variant_id BIGINT, node_id VARCHAR(100), quantity INTEGER)"
+})
+class SaleServiceStatementCountTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private SaleRepository saleRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SaleService saleService;
+  private Statistics statistics;
+  private int saleCount;
+
+  @BeforeEach
+  void setUp() {
+    saleService = new SaleService(
+        saleRepository, null, null, null, null, new PaginationProperties(50, 200), null, null, null, null, null, null, null);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void shouldReadSalesWithFixedStatementCountRegardlessOfSalesAndLines() {
+    assertStatementCounts(persistSales(2, 1), 2);
+    assertStatementCounts(persistSales(20, 6), 22);
+  }
+
+  private void assertStatementCounts(Sale lastSale, int expectedSales) {
+    assertThat(countStatements(() -> assertThat(saleService.findAll(null, null, null).items()).hasSize(expectedSales)))
+        .isEqualTo(2);
+    assertThat(countStatements(() -> assertThat(saleService.findById(lastSale.getId()).lines()).isNotEmpty()))
+        .isEqualTo(1);
+    assertThat(countStatements(() -> assertThat(saleService.findAll(lastSale.getReference(), null, null).items()).hasSize(1)))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldKeepSkuAndVariantNameOfPastSalesWhenVariantIsRenamed() {
+    Sale sale = persistSales(1, 1);
+    ItemVariant variant = sale.getLines().get(0).getVariant();
+    variant.update("COUNT-RENAMED", "Renamed Variant", variant.getPrice(), true);
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(saleService.findById(sale.getId()).lines())
+        .singleElement()
+        .satisfies(line -> {
+          assertThat(line.sku()).isEqualTo("COUNT-0-0");
+          assertThat(line.variantName()).isEqualTo("Variant 0");
+        });
+  }
+
+  @Test
+  void shouldAllocateLessReadingSalePagesFromProjectionsThanFromEntities() {
+    persistSales(50, 4);
+    Runnable projectionRead = () -> assertThat(saleService.findAll(null, null, 50).items()).hasSize(50);
+    Runnable entityRead = () -> assertThat(findSalePageAsEntities(50)).hasSize(50);
+
+    for (int warmup = 0; warmup < 5; warmup++) {
+      measureAllocatedBytes(projectionRead);
+      measureAllocatedBytes(entityRead);
+    }
+
+    assertThat(measureAllocatedBytes(projectionRead)).isLessThan(measureAllocatedBytes(entityRead));
+  }
+
+  private List<SaleResponse> findSalePageAsEntities(int pageSize) {
+    List<Sale> sales = entityManager.getEntityManager()
+        .createQuery("select sale from Sale sale order by sale.createdAt desc, sale.id desc", Sale.class)
+        .setMaxResults(pageSize)
+        .getResultList();
+    entityManager.getEntityManager()
+        .createQuery("select distinct sale from Sale sale join fetch sale.lines where sale in :sales", Sale.class)
+        .setParameter("sales", sales)
+        .getResultList();
+    return sales.stream()
+        .map(sale -> new SaleResponse(
+            sale.getId(),
+            sale.getReference(),
+            sale.getTotalAmount(),
+            sale.getCreatedAt(),
+            sale.getLines().stream()
+                .map(line -> new SaleLineResponse(
+                    line.getId(),
+                    line.getVariant().getId(),
+                    line.getSku(),
+                    line.getVariantName(),
+                    line.getQuantity(),
+                    line.getUnitPrice(),
+                    line.getLineTotal()
+                ))
+                .toList()
+        ))
+        .toList();
+  }
+
+  private long measureAllocatedBytes(Runnable read) {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long allocated = 0;
+
+    for (int run = 0; run < 10; run++) {
+      entityManager.clear();
+      long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+      read.run();
+      allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    }
+
+    return allocated / 10;
+  }
+
+  private long countStatements(Runnable read) {
+    entityManager.clear();
+    statistics.clear();
+    read.run();
+    assertThat(statistics.getEntityStatistics(ItemVariant.class.getName()).getLoadCount()).isZero();
+    return statistics.getPrepareStatementCount();
+  }
+
+  private Sale persistSales(int sales, int linesPerSale) {
+    Item item = new Item("Statement Count Item", "Item for statement counting", true);
+    List<ItemVariant> variants = new ArrayList<>();
+
+    for (int index = 0; index < linesPerSale; index++) {
+      ItemVariant variant = new ItemVariant(
+          "COUNT-" + saleCount + "-" + index, "Variant " + index, new BigDecimal("10.00"), true);
+      item.addVariant(variant);
+      variants.add(variant);
+    }
+
+    entityManager.persist(item);
+    Sale lastSale = null;
+
+    for (int index = 0; index < sales; index++) {
+      Sale sale = new Sale("COUNT-SALE-" + saleCount++);
+      variants.forEach(variant -> sale.addLine(new SaleLine(variant, 1)));
+      lastSale = entityManager.persist(sale);
+    }
+
+    entityManager.flush();
+    return lastSale;
+  }
+}
@@ -0,0 +1,118 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.error.ResourceBusyException;
+import com.greateastern.warehouse.support.PostgresIntegrationTest;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import com.greateastern.warehouse.variant.service.VariantLockPolicy;
+import com.greateastern.warehouse.variant.service.VariantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@PostgresIntegrationTest
+class SaleStockLockerTest {
+
+  @Autowired
+  private VariantService variantService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private long variantId;
+
+  @BeforeEach
+  void setUp() {
+    variantId = PostgresTestDatabase.createVariant(jdbcTemplate, "LOCK-TEST-" + System.nanoTime(), 10);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PostgresTestDatabase.deleteVariant(jdbcTemplate, variantId);
+  }
+
+  @Test
+  void shouldReportBusyImmediatelyWithNoWaitPolicy() throws Exception {
+    SaleStockLocker saleStockLocker = locker(VariantLockPolicy.NOWAIT, Duration.ofSeconds(5));
+
+    try (Connection holder = lockStockRow()) {
+      long startedAt = System.nanoTime();
+
+      assertThatThrownBy(() -> lockInTransaction(saleStockLocker))
+          .isInstanceOf(ResourceBusyException.class)
+          .hasMessageContaining("locked by concurrent sales");
+      assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    assertThat(lockWaitCount("busy")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportBusyAfterLockTimeoutWithTimeoutPolicy() throws Exception {
+    SaleStockLocker saleStockLocker = locker(VariantLockPolicy.TIMEOUT, Duration.ofMillis(300));
+
+    try (Connection holder = lockStockRow()) {
+      long startedAt = System.nanoTime();
+
+      assertThatThrownBy(() -> lockInTransaction(saleStockLocker)).isInstanceOf(ResourceBusyException.class);
+      assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    assertThat(lockInTransaction(saleStockLocker)).isEqualTo(1);
+    assertThat(lockWaitCount("busy")).isEqualTo(1);
+    assertThat(lockWaitCount("acquired")).isEqualTo(1);
+  }
+
+  private Connection lockStockRow() throws Exception {
+    Connection connection = PostgresTestDatabase.dataSource().getConnection();
+    connection.setAutoCommit(false);
+
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT stock_quantity FROM public.variant_stock WHERE variant_id = ? FOR UPDATE")) {
+      statement.setLong(1, variantId);
+      statement.executeQuery().close();
+    }
+
+    return connection;
+  }
+
+  private int lockInTransaction(SaleStockLocker saleStockLocker) {
+    return new TransactionTemplate(transactionManager)
+        .execute(status -> saleStockLocker.lock(List.of(variantId)).size());
+  }
+
+  private long lockWaitCount(String outcome) {
+    return meterRegistry.get("warehouse.sale.lock.wait").tag("outcome", outcome).timer().count();
+  }
+
+  private SaleStockLocker locker(VariantLockPolicy policy, Duration timeout) {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.LOCKING,
+        null,
+        null,
+        null,
+        new SaleProperties.Lock(policy, timeout),
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+    return new SaleStockLocker(variantService, saleProperties, meterRegistry);
+  }
+}
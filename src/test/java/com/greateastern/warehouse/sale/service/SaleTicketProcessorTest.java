@@ -0,0 +1,197 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleLineRequest;
+import com.greateastern.warehouse.sale.api.dto.CreateSaleRequest;
+import com.greateastern.warehouse.sale.api.dto.SaleResponse;
+import com.greateastern.warehouse.sale.domain.SaleFailureType;
+import com.greateastern.warehouse.sale.domain.SaleTicket;
+import com.greateastern.warehouse.sale.domain.SaleTicketRepository;
+import com.greateastern.warehouse.sale.domain.SaleTicketStatus;
+import com.greateastern.warehouse.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SaleTicketProcessorTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final Map<Long, SaleTicket> ticketsById = new ConcurrentHashMap<>();
+  private final List<List<Long>> lockedTicketIds = new CopyOnWriteArrayList<>();
+  private final AtomicInteger remainingFailures = new AtomicInteger();
+  private final AtomicLong nextSaleId = new AtomicLong(1);
+  private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SaleTicketProcessor saleTicketProcessor;
+
+  @BeforeEach
+  void setUp() {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.CONDITIONAL,
+        null,
+        null,
+        new SaleProperties.Retry(1, Duration.ofMillis(1), Duration.ofMillis(1)),
+        null,
+        new SaleProperties.Acceptance(SaleAcceptanceMode.ASYNC, 1, 10, 100, Duration.ofMillis(200), MAX_ATTEMPTS),
+        null,
+        null,
+        null,
+        null
+    );
+    saleTicketProcessor = new SaleTicketProcessor(
+        saleService(),
+        saleTicketRepository(),
+        new SaleTransactionRunner(transactionManager, saleProperties, new SimpleMeterRegistry()),
+        objectMapper,
+        transactionManager,
+        saleProperties
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (saleTicketProcessor.isRunning()) {
+      saleTicketProcessor.stop();
+    }
+  }
+
+  @Test
+  void shouldCreateSalesForEnqueuedTickets() {
+    saleTicketProcessor.start();
+    List<Long> ticketIds = List.of(saveTicket(1L), saveTicket(2L), saveTicket(3L));
+
+    ticketIds.forEach(this::enqueueAfterCommit);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> ticketIds.stream().allMatch(this::isCreated));
+    assertThat(ticketIds).allSatisfy(ticketId -> assertThat(ticketsById.get(ticketId).getSaleId()).isNotNull());
+  }
+
+  @Test
+  void shouldRetryTicketAfterUnexpectedFailure() {
+    Long ticketId = saveTicket(1L);
+    remainingFailures.set(1);
+
+    saleTicketProcessor.start();
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> isCreated(ticketId));
+    assertThat(ticketsById.get(ticketId).getAttempts()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldFailTicketAfterMaxAttempts() {
+    Long ticketId = saveTicket(1L);
+    remainingFailures.set(Integer.MAX_VALUE);
+
+    saleTicketProcessor.start();
+
+    await().atMost(Duration.ofSeconds(5))
+        .until(() -> ticketsById.get(ticketId).getStatus() == SaleTicketStatus.FAILED);
+    SaleTicket ticket = ticketsById.get(ticketId);
+    assertThat(ticket.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+    assertThat(ticket.getFailureType()).isEqualTo(SaleFailureType.PROCESSING);
+  }
+
+  @Test
+  void shouldRecoverPendingTicketsOnStartup() {
+    List<Long> ticketIds = List.of(saveTicket(1L), saveTicket(2L));
+
+    saleTicketProcessor.start();
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> ticketIds.stream().allMatch(this::isCreated));
+  }
+
+  @Test
+  void shouldNotQueueTheSameTicketTwice() {
+    Long ticketId = saveTicket(1L);
+    enqueueAfterCommit(ticketId);
+    enqueueAfterCommit(ticketId);
+
+    saleTicketProcessor.start();
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> isCreated(ticketId));
+    assertThat(lockedTicketIds).allSatisfy(ids -> assertThat(ids).doesNotHaveDuplicates());
+  }
+
+  private Long saveTicket(Long ticketId) {
+    CreateSaleRequest request = new CreateSaleRequest(
+        "TICKET-" + ticketId, List.of(new CreateSaleLineRequest(2001L, 1)));
+    SaleTicket ticket = new SaleTicket(request.reference(), saleTicketProcessor.writePayload(request));
+    ReflectionTestUtils.setField(ticket, "id", ticketId);
+    ticketsById.put(ticketId, ticket);
+    return ticketId;
+  }
+
+  private void enqueueAfterCommit(Long ticketId) {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(status -> saleTicketProcessor.enqueueAfterCommit(ticketId));
+  }
+
+  private boolean isCreated(Long ticketId) {
+    return ticketsById.get(ticketId).getStatus() == SaleTicketStatus.CREATED;
+  }
+
+  private SaleTicketRepository saleTicketRepository() {
+    SaleTicketRepository saleTicketRepository = mock(SaleTicketRepository.class);
+    when(saleTicketRepository.lockPendingByIds(any())).thenAnswer(invocation -> {
+      Collection<Long> ids = invocation.getArgument(0);
+      lockedTicketIds.add(List.copyOf(ids));
+      return ids.stream()
+          .distinct()
+          .sorted()
+          .map(ticketsById::get)
+          .filter(ticket -> ticket.getStatus() == SaleTicketStatus.PENDING)
+          .toList();
+    });
+    when(saleTicketRepository.findPendingIdsUpdatedBefore(any(Instant.class), anyInt())).thenAnswer(invocation ->
+        ticketsById.values().stream()
+            .filter(ticket -> ticket.getStatus() == SaleTicketStatus.PENDING)
+            .map(SaleTicket::getId)
+            .sorted()
+            .limit(invocation.<Integer>getArgument(1))
+            .toList());
+    return saleTicketRepository;
+  }
+
+  private SaleService saleService() {
+    SaleService saleService = mock(SaleService.class);
+    when(saleService.createBatchInCurrentTransaction(anyList())).thenAnswer(invocation -> {
+      if (remainingFailures.getAndUpdate(failures -> Math.max(failures - 1, 0)) > 0) {
+        throw new IllegalStateException("Connection reset");
+      }
+
+      List<CreateSaleRequest> requests = invocation.getArgument(0);
+      List<SaleBatchResult> results = new ArrayList<>();
+
+      for (int index = 0; index < requests.size(); index++) {
+        results.add(SaleBatchResult.created(index, new SaleResponse(
+            nextSaleId.getAndIncrement(), requests.get(index).reference(), BigDecimal.TEN, Instant.now(), List.of())));
+      }
+
+      return results;
+    });
+    return saleService;
+  }
+}
@@ -0,0 +1,156 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.greateastern.warehouse.common.error.SqlStates;
+import com.greateastern.warehouse.support.NoOpTransactionManager;
+import com.greateastern.warehouse.support.PostgresTestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SaleTransactionRunnerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldRetrySerializationFailureUntilTransactionSucceeds() {
+    SaleTransactionRunner saleTransactionRunner = runner(new NoOpTransactionManager(), 4);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = saleTransactionRunner.execute(() -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw failure(SqlStates.SERIALIZATION_FAILURE);
+      }
+
+      return "created";
+    });
+
+    assertThat(result).isEqualTo("created");
+    assertThat(attempts).hasValue(3);
+    assertThat(count("warehouse.sale.transaction.failures", SqlStates.SERIALIZATION_FAILURE)).isEqualTo(2);
+    assertThat(meterRegistry.counter("warehouse.sale.transaction.retries").count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldGiveUpAfterMaxAttempts() {
+    SaleTransactionRunner saleTransactionRunner = runner(new NoOpTransactionManager(), 3);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(() -> saleTransactionRunner.execute(() -> {
+      attempts.incrementAndGet();
+      throw failure(SqlStates.DEADLOCK_DETECTED);
+    })).isInstanceOf(CannotAcquireLockException.class);
+
+    assertThat(attempts).hasValue(3);
+    assertThat(meterRegistry.counter("warehouse.sale.transaction.retries.exhausted").count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotRetryOtherFailures() {
+    SaleTransactionRunner saleTransactionRunner = runner(new NoOpTransactionManager(), 4);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(() -> saleTransactionRunner.execute(() -> {
+      attempts.incrementAndGet();
+      throw failure(SqlStates.UNIQUE_VIOLATION);
+    })).isInstanceOf(CannotAcquireLockException.class);
+
+    assertThat(attempts).hasValue(1);
+    assertThat(meterRegistry.counter("warehouse.sale.transaction.retries").count()).isZero();
+  }
+
+  @Test
+  @EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+  void shouldRetryTransactionChosenAsDeadlockVictim() throws Exception {
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(PostgresTestDatabase.dataSource());
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(transactionManager.getDataSource());
+    String testId = "DEADLOCK-TEST-" + System.nanoTime();
+    long firstVariantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId + "-A", 10);
+    long secondVariantId = PostgresTestDatabase.createVariant(jdbcTemplate, testId + "-B", 10);
+    SaleTransactionRunner saleTransactionRunner = runner(transactionManager, 4);
+    CyclicBarrier bothLocked = new CyclicBarrier(2);
+    AtomicInteger attempts = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      List<Future<Integer>> transactions = new ArrayList<>();
+
+      for (long[] order : new long[][] {{firstVariantId, secondVariantId}, {secondVariantId, firstVariantId}}) {
+        transactions.add(executor.submit(() -> saleTransactionRunner.execute(() -> {
+          decrement(jdbcTemplate, order[0]);
+
+          if (attempts.incrementAndGet() <= 2) {
+            await(bothLocked);
+          }
+
+          return decrement(jdbcTemplate, order[1]);
+        })));
+      }
+
+      for (Future<Integer> transaction : transactions) {
+        assertThat(transaction.get(30, TimeUnit.SECONDS)).isEqualTo(1);
+      }
+
+      assertThat(count("warehouse.sale.transaction.failures", SqlStates.DEADLOCK_DETECTED)).isEqualTo(1);
+      assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, firstVariantId)).isEqualTo(8);
+      assertThat(PostgresTestDatabase.stockQuantity(jdbcTemplate, secondVariantId)).isEqualTo(8);
+    } finally {
+      executor.shutdownNow();
+      PostgresTestDatabase.deleteVariant(jdbcTemplate, firstVariantId);
+      PostgresTestDatabase.deleteVariant(jdbcTemplate, secondVariantId);
+    }
+  }
+
+  private int decrement(JdbcTemplate jdbcTemplate, long variantId) {
+    return jdbcTemplate.update(
+        "UPDATE public.variant_stock SET stock_quantity = stock_quantity - 1 WHERE variant_id = ?", variantId);
+  }
+
+  private void await(CyclicBarrier barrier) {
+    try {
+      barrier.await(10, TimeUnit.SECONDS);
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private CannotAcquireLockException failure(String sqlState) {
+    return new CannotAcquireLockException("Transaction failed", new SQLException("Transaction failed", sqlState));
+  }
+
+  private double count(String name, String sqlState) {
+    return meterRegistry.counter(name, "sqlstate", sqlState).count();
+  }
+
+  private SaleTransactionRunner runner(PlatformTransactionManager transactionManager, int maxAttempts) {
+    SaleProperties saleProperties = new SaleProperties(
+        SaleStockMode.LOCKING,
+        null,
+        null,
+        new SaleProperties.Retry(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5)),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+    return new SaleTransactionRunner(transactionManager, saleProperties, meterRegistry);
+  }
+}
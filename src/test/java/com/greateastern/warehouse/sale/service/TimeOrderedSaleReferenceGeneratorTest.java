@@ -0,0 +1,97 @@
+package com.greateastern.warehouse.sale.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedSaleReferenceGeneratorTest {
+
+  private static final long NOW = 1767225600000L;
+
+  @Test
+  void shouldProduceFixedWidthReferencesThatSortInGenerationOrder() {
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedSaleReferenceGenerator generator = new TimeOrderedSaleReferenceGenerator(7, clock::get);
+    List<String> references = new ArrayList<>();
+
+    for (int index = 0; index < 10_000; index++) {
+      references.add(generator.nextReference());
+
+      if (index % 100 == 0) {
+        clock.addAndGet(1);
+      }
+    }
+
+    assertThat(references).allMatch(reference -> reference.matches("SALE-[0-9A-HJKMNP-TV-Z]{13}"));
+    assertThat(references).isSorted().doesNotHaveDuplicates();
+  }
+
+  @Test
+  void shouldStayMonotonicWhenClockMovesBackwards() {
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedSaleReferenceGenerator generator = new TimeOrderedSaleReferenceGenerator(1, clock::get);
+
+    long first = generator.nextId();
+    clock.addAndGet(-5_000);
+    long second = generator.nextId();
+
+    assertThat(second).isGreaterThan(first);
+  }
+
+  @Test
+  void shouldBorrowNextMillisecondWhenSequenceIsExhausted() {
+    TimeOrderedSaleReferenceGenerator generator = new TimeOrderedSaleReferenceGenerator(3, () -> NOW);
+    long previous = generator.nextId();
+
+    for (int index = 0; index < 5_000; index++) {
+      long next = generator.nextId();
+      assertThat(next).isGreaterThan(previous);
+      previous = next;
+    }
+
+    long nodeMask = (long) TimeOrderedSaleReferenceGenerator.MAX_NODE_ID << TimeOrderedSaleReferenceGenerator.SEQUENCE_BITS;
+    assertThat((previous & nodeMask) >>> TimeOrderedSaleReferenceGenerator.SEQUENCE_BITS).isEqualTo(3);
+  }
+
+  @Test
+  void shouldGenerateUniqueReferencesAcrossThreads() throws Exception {
+    TimeOrderedSaleReferenceGenerator generator = new TimeOrderedSaleReferenceGenerator(0, System::currentTimeMillis);
+    Set<String> references = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+
+      for (int thread = 0; thread < 8; thread++) {
+        tasks.add(executor.submit(() -> {
+          for (int index = 0; index < 20_000; index++) {
+            references.add(generator.nextReference());
+          }
+        }));
+      }
+
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(references).hasSize(160_000);
+  }
+
+  @Test
+  void shouldRejectNodeIdOutsideRange() {
+    assertThatThrownBy(() -> new TimeOrderedSaleReferenceGenerator(1024, () -> NOW))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
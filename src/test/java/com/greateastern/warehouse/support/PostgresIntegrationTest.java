@@ -0,0 +1,24 @@
+package com.greateastern.warehouse.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+@SpringBootTest(properties = {
+    "SPRING_DATASOURCE_URL=${" + PostgresTestDatabase.URL_VARIABLE + "}",
+    "SPRING_DATASOURCE_USERNAME=${" + PostgresTestDatabase.USERNAME_VARIABLE + ":postgres}",
+    "SPRING_DATASOURCE_PASSWORD=${" + PostgresTestDatabase.PASSWORD_VARIABLE + ":}",
+    "warehouse.sale.stock-mode=conditional",
+    "warehouse.reservation.ttl=1s",
+    "warehouse.reservation.sweep-interval=200ms"
+})
+@AutoConfigureMockMvc
+public @interface PostgresIntegrationTest {
+}
@@ -0,0 +1,96 @@
+package com.greateastern.warehouse.support;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public final class PostgresTestDatabase {
+
+  public static final String URL_VARIABLE = "WAREHOUSE_TEST_DATABASE_URL";
+  public static final String USERNAME_VARIABLE = "WAREHOUSE_TEST_DATABASE_USERNAME";
+  public static final String PASSWORD_VARIABLE = "WAREHOUSE_TEST_DATABASE_PASSWORD";
+
+  private PostgresTestDatabase() {
+  }
+
+  public static String url() {
+    return System.getenv(URL_VARIABLE);
+  }
+
+  public static String username() {
+    String username = System.getenv(USERNAME_VARIABLE);
+    return username == null || username.isBlank() ? "postgres" : username;
+  }
+
+  public static String password() {
+    String password = System.getenv(PASSWORD_VARIABLE);
+    return password == null ? "" : password;
+  }
+
+  public static DataSource dataSource() {
+    return new DriverManagerDataSource(url(), username(), password());
+  }
+
+  public static long createVariant(JdbcTemplate jdbcTemplate, String sku, int stockQuantity) {
+    Long itemId = jdbcTemplate.queryForObject(
+        "INSERT INTO public.items (name, description, active) VALUES (?, ?, TRUE) RETURNING id",
+        Long.class,
+        sku,
+        "Test item for " + sku
+    );
+    Long variantId = jdbcTemplate.queryForObject(
+        "INSERT INTO public.item_variants (item_id, sku, name, price, active) VALUES (?, ?, ?, 10.00, TRUE) RETURNING id",
+        Long.class,
+        itemId,
+        sku,
+        sku
+    );
+    jdbcTemplate.update(
+        "INSERT INTO public.variant_stock (variant_id, stock_quantity) VALUES (?, ?)", variantId, stockQuantity);
+    return variantId;
+  }
+
+  public static long recordSale(JdbcTemplate jdbcTemplate, String reference, long variantId, int quantity, Long stockLeaseId) {
+    Long saleId = jdbcTemplate.queryForObject(
+        "INSERT INTO public.sales (reference, total_amount) VALUES (?, ?) RETURNING id",
+        Long.class,
+        reference,
+        quantity * 10
+    );
+    jdbcTemplate.update("""
+        INSERT INTO public.sale_lines (sale_id, variant_id, sku, variant_name, quantity, unit_price, line_total, stock_lease_id)
+        SELECT ?, variant.id, variant.sku, variant.name, ?, variant.price, variant.price * ?, ?
+        FROM public.item_variants variant
+        WHERE variant.id = ?
+        """, saleId, quantity, quantity, stockLeaseId, variantId);
+    return saleId;
+  }
+
+  public static int stockQuantity(JdbcTemplate jdbcTemplate, long variantId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT stock_quantity FROM public.variant_stock WHERE variant_id = ?", Integer.class, variantId);
+  }
+
+  public static int soldQuantity(JdbcTemplate jdbcTemplate, long variantId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COALESCE(SUM(quantity), 0) FROM public.sale_lines WHERE variant_id = ?", Integer.class, variantId);
+  }
+
+  public static void deleteVariant(JdbcTemplate jdbcTemplate, long variantId) {
+    jdbcTemplate.update("""
+        DELETE FROM public.stock_reservations reservation
+        WHERE EXISTS (
+          SELECT 1 FROM public.stock_reservation_lines line
+          WHERE line.reservation_id = reservation.id AND line.variant_id = ?
+        )
+        """, variantId);
+    jdbcTemplate.update("""
+        DELETE FROM public.sales sale
+        WHERE EXISTS (SELECT 1 FROM public.sale_lines line WHERE line.sale_id = sale.id AND line.variant_id = ?)
+        """, variantId);
+    jdbcTemplate.update("""
+        DELETE FROM public.items item
+        WHERE item.id = (SELECT variant.item_id FROM public.item_variants variant WHERE variant.id = ?)
+        """, variantId);
+  }
+}